@@ -0,0 +1,29 @@
+package com.miniproject.backend.cache;
+
+/**
+ * Display fields of a user that DTOs copy next to an id
+ */
+public final class UserSummary {
+
+    private final String id;
+    private final String name;
+    private final String photoUrl;
+
+    public UserSummary(String id, String name, String photoUrl) {
+        this.id = id;
+        this.name = name;
+        this.photoUrl = photoUrl;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+}
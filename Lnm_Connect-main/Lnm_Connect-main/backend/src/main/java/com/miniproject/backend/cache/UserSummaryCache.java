@@ -0,0 +1,105 @@
+package com.miniproject.backend.cache;
+
+import com.miniproject.backend.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Near-cache of user names and photos for DTO assembly.
+ * Misses are loaded with a projected query; profile writes invalidate the entry,
+ * and the TTL bounds how stale a name can be when written elsewhere.
+ * Ids with no user (deleted accounts still referenced by posts and messages) are remembered
+ * for a shorter TTL, so they do not cost a query on every lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSummaryCache {
+
+    private static final int MAX_ENTRIES = 10000;
+    private static final long TTL_MINUTES = 10;
+    private static final long MISSING_TTL_MINUTES = 1;
+
+    private final MongoTemplate mongoTemplate;
+    private final LruTtlCache<String, UserSummary> cache =
+            new LruTtlCache<>(MAX_ENTRIES, TTL_MINUTES, TimeUnit.MINUTES);
+    private final LruTtlCache<String, Boolean> missing =
+            new LruTtlCache<>(MAX_ENTRIES, MISSING_TTL_MINUTES, TimeUnit.MINUTES);
+
+    /**
+     * Summary for one user, or null if the user does not exist
+     */
+    public UserSummary get(String userId) {
+        if (userId == null || missing.get(userId) != null) {
+            return null;
+        }
+        return cache.getOrLoad(userId, id -> {
+            Query query = new Query(Criteria.where("_id").is(id));
+            query.fields().include("name", "photoUrl");
+            User user = mongoTemplate.findOne(query, User.class);
+            if (user == null) {
+                missing.put(id, Boolean.TRUE);
+                return null;
+            }
+            return toSummary(user);
+        });
+    }
+
+    /**
+     * Summaries keyed by id; all misses are resolved with a single $in query.
+     * Ids of users that do not exist are absent from the result.
+     */
+    public Map<String, UserSummary> getAll(Collection<String> userIds) {
+        Map<String, UserSummary> summaries = new HashMap<>();
+        Set<String> misses = new HashSet<>();
+        for (String userId : userIds) {
+            if (userId == null || missing.get(userId) != null) {
+                continue;
+            }
+            UserSummary cached = cache.get(userId);
+            if (cached != null) {
+                summaries.put(userId, cached);
+            } else {
+                misses.add(userId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Query query = new Query(Criteria.where("_id").in(misses));
+            query.fields().include("name", "photoUrl");
+            for (User user : mongoTemplate.find(query, User.class)) {
+                UserSummary summary = toSummary(user);
+                cache.put(user.getId(), summary);
+                summaries.put(user.getId(), summary);
+                misses.remove(user.getId());
+            }
+            for (String userId : misses) {
+                missing.put(userId, Boolean.TRUE);
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Drop the cached entry after the user's name or photo changed, or the user was created or deleted
+     */
+    public void invalidate(String userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+            missing.invalidate(userId);
+        }
+    }
+
+    private UserSummary toSummary(User user) {
+        return new UserSummary(user.getId(), user.getName(), user.getPhotoUrl());
+    }
+}
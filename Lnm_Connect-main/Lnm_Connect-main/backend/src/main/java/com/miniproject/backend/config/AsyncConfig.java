@@ -0,0 +1,51 @@
+package com.miniproject.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Enables @Async, with a dedicated bounded executor for notification delivery.
+ * Declaring any Executor bean switches off Boot's applicationTaskExecutor, so it is declared here
+ * the way Boot would (spring.task.execution.*) and kept primary: unqualified @Async and MVC async
+ * requests use it, and only @Async("notificationExecutor") reaches the drop-on-full pool.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${notifications.executor.pool-size:4}")
+    private int poolSize;
+
+    @Value("${notifications.executor.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${notifications.executor.await-termination-seconds:30}")
+    private int awaitTerminationSeconds;
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    @Primary
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Runs the notification listeners off the request thread. On shutdown, queued notifications
+     * are still delivered for up to await-termination-seconds.
+     */
+    @Bean(name = "notificationExecutor")
+    public MeteredTaskExecutor notificationExecutor() {
+        MeteredTaskExecutor executor = new MeteredTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        return executor;
+    }
+}
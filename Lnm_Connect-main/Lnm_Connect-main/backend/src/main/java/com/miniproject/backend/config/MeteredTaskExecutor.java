@@ -0,0 +1,82 @@
+package com.miniproject.backend.config;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool that counts its work: queue depth, tasks dropped when the queue is full,
+ * and how long tasks waited in the queue and took to run.
+ * A full queue drops the task rather than running it on the caller, so callers never wait on it.
+ * @Async methods run inside a FutureTask that swallows their exceptions, so the tasks report
+ * their own failures through recordFailure().
+ */
+public class MeteredTaskExecutor extends ThreadPoolTaskExecutor {
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong totalWaitMs = new AtomicLong();
+    private final AtomicLong maxWaitMs = new AtomicLong();
+    private final AtomicLong totalRunMs = new AtomicLong();
+    private final AtomicLong maxRunMs = new AtomicLong();
+
+    public MeteredTaskExecutor() {
+        setTaskDecorator(this::meter);
+        setRejectedExecutionHandler((task, executor) -> {
+            if (dropped.incrementAndGet() % 1000 == 1) {
+                System.err.println(getThreadNamePrefix() + "executor full; " + dropped.get() + " tasks dropped so far");
+            }
+        });
+    }
+
+    /**
+     * A task running on this executor failed
+     */
+    public void recordFailure() {
+        failed.incrementAndGet();
+    }
+
+    /**
+     * Counters since startup, plus the current queue depth and busy threads.
+     * completed counts every task that ran, failed ones included.
+     */
+    public Map<String, Long> getStats() {
+        long done = completed.get();
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("submitted", submitted.get());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("dropped", dropped.get());
+        stats.put("queued", (long) getQueueSize());
+        stats.put("active", (long) getActiveCount());
+        stats.put("avgWaitMs", done == 0 ? 0 : totalWaitMs.get() / done);
+        stats.put("maxWaitMs", maxWaitMs.get());
+        stats.put("avgRunMs", done == 0 ? 0 : totalRunMs.get() / done);
+        stats.put("maxRunMs", maxRunMs.get());
+        return stats;
+    }
+
+    private Runnable meter(Runnable task) {
+        submitted.incrementAndGet();
+        long queuedAt = System.currentTimeMillis();
+        return () -> {
+            long startedAt = System.currentTimeMillis();
+            record(totalWaitMs, maxWaitMs, startedAt - queuedAt);
+            try {
+                task.run();
+            } finally {
+                completed.incrementAndGet();
+                record(totalRunMs, maxRunMs, System.currentTimeMillis() - startedAt);
+            }
+        };
+    }
+
+    private static void record(AtomicLong total, AtomicLong max, long elapsedMs) {
+        total.addAndGet(elapsedMs);
+        max.accumulateAndGet(elapsedMs, Math::max);
+    }
+}
@@ -0,0 +1,83 @@
+package com.miniproject.backend.config;
+
+import com.miniproject.backend.model.ChatRoom;
+import com.miniproject.backend.model.Event;
+import com.miniproject.backend.model.Follow;
+import com.miniproject.backend.model.Message;
+import com.miniproject.backend.model.MessageArchive;
+import com.miniproject.backend.model.MessageSearchEntry;
+import com.miniproject.backend.model.Notification;
+import com.miniproject.backend.model.Project;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the indexes the chat, follow, notification and matching queries rely on, once the beans are up and
+ * before the web server takes requests. Only the indexes named here are built; the other declarations on the
+ * models (including the 7-day TTL on recommendations) are left alone, as they were with auto-index-creation off.
+ * A failure, such as existing duplicates under a unique index, is logged and stops startup; cleaning up such
+ * data is a one-off migration, not something to do on every start.
+ */
+@Component
+@RequiredArgsConstructor
+public class MongoIndexInitializer implements SmartInitializingSingleton {
+
+    private static final Map<Class<?>, Set<String>> INDEXES = new LinkedHashMap<>();
+
+    static {
+        INDEXES.put(Follow.class, Set.of("followers_page_idx", "following_page_idx"));
+        INDEXES.put(ChatRoom.class, Set.of("user1_inbox_idx", "user2_inbox_idx", "pair_key_idx"));
+        INDEXES.put(Message.class, Set.of("room_history_idx"));
+        INDEXES.put(MessageArchive.class, Set.of("room_week_idx"));
+        INDEXES.put(MessageSearchEntry.class, Set.of("user_terms_recent_idx", "message_idx"));
+        INDEXES.put(Notification.class, Set.of("group_key_idx"));
+        INDEXES.put(Project.class, Set.of("recruiting_idx", "required_skill_terms_idx", "tag_terms_idx"));
+        INDEXES.put(Event.class, Set.of("upcoming_idx", "domain_tag_terms_idx", "skill_focus_terms_idx"));
+    }
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+
+        int ensured = 0;
+        for (Map.Entry<Class<?>, Set<String>> entry : INDEXES.entrySet()) {
+            MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(entry.getKey());
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+            Set<String> remaining = new HashSet<>(entry.getValue());
+            for (IndexDefinition index : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                Object name = index.getIndexOptions().get("name");
+                if (!remaining.remove(name)) {
+                    continue;
+                }
+                try {
+                    indexOps.ensureIndex(index);
+                    ensured++;
+                } catch (Exception e) {
+                    System.err.println("Failed to create index " + name + " on " + entity.getCollection() + ": " + e.getMessage());
+                    throw new IllegalStateException("Could not create index " + name + " on " + entity.getCollection(), e);
+                }
+            }
+            if (!remaining.isEmpty()) {
+                throw new IllegalStateException("Indexes " + remaining + " are not declared on " + entity.getType().getSimpleName());
+            }
+        }
+        System.out.println("Mongo indexes ensured: " + ensured);
+    }
+}
@@ -0,0 +1,12 @@
+package com.miniproject.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (counter reconciliation etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
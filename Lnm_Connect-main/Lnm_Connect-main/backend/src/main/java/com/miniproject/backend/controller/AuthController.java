@@ -1,5 +1,6 @@
 package com.miniproject.backend.controller;
 
+import com.miniproject.backend.cache.UserSummaryCache;
 import com.miniproject.backend.model.User;
 import com.miniproject.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +12,8 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private UserSummaryCache userSummaryCache;
 
     @PostMapping("/signup")
     public User signup(@RequestBody User user) {
@@ -61,7 +64,9 @@ public class AuthController {
             user.setInterests(userDetails.getInterests());
             user.setGithubProfile(userDetails.getGithubProfile());
             user.setPortfolio(userDetails.getPortfolio());
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            userSummaryCache.invalidate(id);
+            return saved;
         }).orElse(null);
     }
 
@@ -1,19 +1,25 @@
 package com.miniproject.backend.controller;
 
 import com.miniproject.backend.dto.ChatConversationDTO;
+import com.miniproject.backend.dto.CursorPageDTO;
 import com.miniproject.backend.dto.MessageDTO;
+import com.miniproject.backend.dto.MessagePageDTO;
 import com.miniproject.backend.dto.SendMessageRequest;
 import com.miniproject.backend.model.TypingIndicator;
+import com.miniproject.backend.service.ChatMessagePipeline;
 import com.miniproject.backend.service.ChatService;
+import com.miniproject.backend.service.TypingTracker;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/chats")
@@ -22,7 +28,8 @@ import java.util.List;
 public class ChatController {
     
     private final ChatService chatService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatMessagePipeline chatMessagePipeline;
+    private final TypingTracker typingTracker;
     
     /**
      * Get all conversations for the logged-in user
@@ -48,7 +55,7 @@ public class ChatController {
     }
     
     /**
-     * Get all messages in a chat room
+     * Get the most recent messages in a chat room (latest page, oldest first)
      * GET /api/chats/{chatRoomId}?userId={userId}
      */
     @GetMapping("/{chatRoomId}")
@@ -59,16 +66,72 @@ public class ChatController {
         return ResponseEntity.ok(messages);
     }
     
+    /**
+     * Get a page of chat history
+     * GET /api/chats/{chatRoomId}/messages?userId={userId}&before={cursor}|after={cursor}&limit=50
+     */
+    @GetMapping("/{chatRoomId}/messages")
+    public ResponseEntity<?> getChatRoomMessagesPage(
+            @PathVariable String chatRoomId,
+            @RequestParam String userId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            MessagePageDTO page = chatService.getChatRoomMessagesPage(chatRoomId, userId, before, after, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Search the user's conversations, newest matches first
+     * GET /api/chats/search?userId={userId}&q={text}&cursor={cursor}&limit=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchMessages(
+            @RequestParam String userId,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            CursorPageDTO<MessageDTO> page = chatService.searchMessages(userId, q, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     /**
      * Send a message
      * POST /api/chats/send?senderId={senderId}
      */
     @PostMapping("/send")
-    public ResponseEntity<MessageDTO> sendMessage(
+    public ResponseEntity<?> sendMessage(
             @RequestParam String senderId,
             @RequestBody SendMessageRequest request) {
-        MessageDTO message = chatService.sendMessage(senderId, request);
-        return ResponseEntity.ok(message);
+        if (!chatMessagePipeline.isWriteBehind()) {
+            MessageDTO message = chatService.sendMessage(senderId, request);
+            return ResponseEntity.ok(message);
+        }
+        // Write-behind: broadcast now, persist with the next journal flush
+        try {
+            return ResponseEntity.ok(chatMessagePipeline.submit(senderId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Typing frame counters (received, forwarded, suppressed, expired)
+     * GET /api/chats/typing/stats
+     */
+    @GetMapping("/typing/stats")
+    public ResponseEntity<Map<String, Long>> getTypingStats() {
+        return ResponseEntity.ok(typingTracker.getStats());
     }
     
     /**
@@ -79,6 +142,8 @@ public class ChatController {
     public ResponseEntity<Void> markAsRead(
             @PathVariable String chatRoomId,
             @RequestParam String userId) {
+        // Under write-behind, messages the user has seen may still be journaled; store them first
+        chatMessagePipeline.awaitStored(chatRoomId);
         chatService.markMessagesAsRead(chatRoomId, userId);
         return ResponseEntity.ok().build();
     }
@@ -91,6 +156,7 @@ public class ChatController {
     public ResponseEntity<Void> markAsDelivered(
             @PathVariable String chatRoomId,
             @RequestParam String userId) {
+        chatMessagePipeline.awaitStored(chatRoomId);
         chatService.markMessagesAsDelivered(chatRoomId, userId);
         return ResponseEntity.ok().build();
     }
@@ -98,27 +164,32 @@ public class ChatController {
     // ==================== WebSocket Endpoints ====================
     
     /**
-     * WebSocket endpoint to send a message
+     * WebSocket endpoint to send a message; the ack arrives on /user/queue/acks
      * Usage: /app/chat.sendMessage
      */
     @MessageMapping("/chat.sendMessage")
-    public void sendMessageViaWebSocket(@Payload SendMessageRequest request) {
-        // This would need the sender ID from the WebSocket session
-        // For now, it's handled via REST API
+    public void sendMessageViaWebSocket(@Payload SendMessageRequest request, Principal principal) {
+        // The sender is the user bound to this session on CONNECT
+        if (principal == null) {
+            System.err.println("Rejected chat message from a WebSocket session without a user");
+            return;
+        }
+        try {
+            chatMessagePipeline.submit(principal.getName(), request);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            chatMessagePipeline.reject(principal.getName(), request.getClientMessageId(), e.getMessage());
+        }
     }
     
     /**
-     * WebSocket endpoint for typing indicator
+     * WebSocket endpoint for typing indicator; only start/stop transitions are relayed
      * Usage: /app/chat.typing/{chatRoomId}
      */
     @MessageMapping("/chat.typing/{chatRoomId}")
     public void handleTypingIndicator(
             @DestinationVariable String chatRoomId,
             @Payload TypingIndicator indicator) {
-        messagingTemplate.convertAndSend(
-                "/topic/typing/" + chatRoomId,
-                indicator
-        );
+        typingTracker.onFrame(chatRoomId, indicator);
     }
     
     /**
@@ -130,6 +201,7 @@ public class ChatController {
             @DestinationVariable String chatRoomId,
             @Payload String userId) {
         // Mark messages as delivered when user joins
+        chatMessagePipeline.awaitStored(chatRoomId);
         chatService.markMessagesAsDelivered(chatRoomId, userId);
     }
 }
@@ -1,5 +1,6 @@
 package com.miniproject.backend.controller;
 
+import com.miniproject.backend.cache.UserSummaryCache;
 import com.miniproject.backend.model.User;
 import com.miniproject.backend.repository.UserRepository;
 import org.bson.types.ObjectId;
@@ -30,6 +31,9 @@ public class FileUploadController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserSummaryCache userSummaryCache;
+
     /**
      * Upload profile picture
      * Accepts a multipart file and stores it in MongoDB GridFS
@@ -87,6 +91,7 @@ public class FileUploadController {
             // Update user's photoUrl
             user.setPhotoUrl(fileUrl);
             userRepository.save(user);
+            userSummaryCache.invalidate(userId);
 
             // Return response
             Map<String, String> response = new HashMap<>();
@@ -151,6 +156,7 @@ public class FileUploadController {
             // Remove photoUrl from user
             user.setPhotoUrl(null);
             userRepository.save(user);
+            userSummaryCache.invalidate(userId);
 
             return ResponseEntity.ok(Map.of("message", "Profile picture deleted successfully"));
 
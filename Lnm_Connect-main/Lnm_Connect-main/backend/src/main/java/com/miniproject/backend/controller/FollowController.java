@@ -1,5 +1,6 @@
 package com.miniproject.backend.controller;
 
+import com.miniproject.backend.dto.CursorPageDTO;
 import com.miniproject.backend.dto.FollowRequestDTO;
 import com.miniproject.backend.dto.FollowStatusDTO;
 import com.miniproject.backend.dto.UserConnectionDTO;
@@ -107,6 +108,23 @@ public class FollowController {
         return ResponseEntity.ok(status);
     }
 
+    /**
+     * Get follow status for many target users at once (max 100)
+     * POST /api/follow/status/batch?userId={currentUserId}
+     * Body: ["targetId1", "targetId2", ...]
+     */
+    @PostMapping("/status/batch")
+    public ResponseEntity<?> getFollowStatuses(
+            @RequestParam String userId,
+            @RequestBody List<String> targetUserIds) {
+        try {
+            Map<String, FollowStatusDTO> statuses = followService.getFollowStatuses(userId, targetUserIds);
+            return ResponseEntity.ok(statuses);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Get pending connection requests received by user
      * GET /api/follow/requests?userId={currentUserId}
@@ -127,6 +145,24 @@ public class FollowController {
         return ResponseEntity.ok(followers);
     }
 
+    /**
+     * Get one page of followers, newest first
+     * GET /api/follow/followers/{userId}/page?cursor=&limit=20&withMutuals=false
+     */
+    @GetMapping("/followers/{userId}/page")
+    public ResponseEntity<?> getFollowersPage(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean withMutuals) {
+        try {
+            CursorPageDTO<UserConnectionDTO> page = followService.getFollowersPage(userId, cursor, limit, withMutuals);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Get list of following
      * GET /api/follow/following/{userId}
@@ -137,6 +173,24 @@ public class FollowController {
         return ResponseEntity.ok(following);
     }
 
+    /**
+     * Get one page of following, newest first
+     * GET /api/follow/following/{userId}/page?cursor=&limit=20&withMutuals=false
+     */
+    @GetMapping("/following/{userId}/page")
+    public ResponseEntity<?> getFollowingPage(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean withMutuals) {
+        try {
+            CursorPageDTO<UserConnectionDTO> page = followService.getFollowingPage(userId, cursor, limit, withMutuals);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Get list of mutual connections
      * GET /api/follow/connections/{userId}
@@ -1,6 +1,8 @@
 package com.miniproject.backend.controller;
 
+import com.miniproject.backend.config.MeteredTaskExecutor;
 import com.miniproject.backend.model.Notification;
+import com.miniproject.backend.service.NotificationOutbox;
 import com.miniproject.backend.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +20,12 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private MeteredTaskExecutor notificationExecutor;
+    
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+    
     /**
      * Get notifications for a user with pagination
      * GET /api/notifications?userId=xxx&page=0&size=20
@@ -53,6 +61,24 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Notification executor counters (queue depth, drops, wait and run latency)
+     * GET /api/notifications/executor/stats
+     */
+    @GetMapping("/executor/stats")
+    public ResponseEntity<Map<String, Long>> getExecutorStats() {
+        return ResponseEntity.ok(notificationExecutor.getStats());
+    }
+    
+    /**
+     * Notification outbox counters (frames, batch size, flush delay)
+     * GET /api/notifications/outbox/stats
+     */
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<Map<String, Long>> getOutboxStats() {
+        return ResponseEntity.ok(notificationOutbox.getStats());
+    }
+    
     /**
      * Mark notification as read
      * PUT /api/notifications/{id}/read
@@ -68,9 +94,9 @@ public class NotificationController {
      * PUT /api/notifications/mark-all-read?userId=xxx
      */
     @PutMapping("/mark-all-read")
-    public ResponseEntity<Void> markAllAsRead(@RequestParam String userId) {
-        notificationService.markAllAsRead(userId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Map<String, Long>> markAllAsRead(@RequestParam String userId) {
+        long updated = notificationService.markAllAsRead(userId);
+        return ResponseEntity.ok(Map.of("updated", updated));
     }
     
     /**
@@ -86,6 +112,33 @@ public class NotificationController {
         return ResponseEntity.ok().build();
     }
     
+    /**
+     * Delete several notifications of a user at once
+     * POST /api/notifications/delete?userId=xxx  body: {"ids": [...]}
+     */
+    @PostMapping("/delete")
+    public ResponseEntity<?> deleteNotifications(
+            @RequestParam String userId,
+            @RequestBody Map<String, List<String>> request
+    ) {
+        List<String> ids = request.get("ids");
+        if (ids == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "ids is required"));
+        }
+        long deleted = notificationService.deleteNotifications(userId, ids);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
+    }
+    
+    /**
+     * Delete all notifications of a user
+     * DELETE /api/notifications?userId=xxx
+     */
+    @DeleteMapping
+    public ResponseEntity<Map<String, Long>> deleteAllNotifications(@RequestParam String userId) {
+        long deleted = notificationService.deleteNotifications(userId, null);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
+    }
+    
     /**
      * Test notification creation
      * POST /api/notifications/test
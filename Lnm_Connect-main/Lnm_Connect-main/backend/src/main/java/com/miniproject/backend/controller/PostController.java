@@ -28,6 +28,9 @@ public class PostController {
         
         if (wasLiked) {
             likes.remove(userId); // Unlike
+            if (!userId.equals(post.getAuthorId())) {
+                notificationService.withdrawLikeNotification(post.getAuthorId(), userId, post.getId());
+            }
         } else {
             likes.add(userId); // Like
             
@@ -0,0 +1,42 @@
+package com.miniproject.backend.controller;
+
+import com.miniproject.backend.dto.PresenceDTO;
+import com.miniproject.backend.service.PresenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/presence")
+@CrossOrigin(origins = "*")
+public class PresenceController {
+
+    @Autowired
+    private PresenceService presenceService;
+
+    /**
+     * Online status and last-seen time of a user
+     * GET /api/presence/{userId}
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<PresenceDTO> getPresence(@PathVariable String userId) {
+        return ResponseEntity.ok(presenceService.getPresence(userId));
+    }
+
+    /**
+     * Presence for many users at once (max 100)
+     * POST /api/presence/batch
+     * Body: ["userId1", "userId2", ...]
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> getPresence(@RequestBody List<String> userIds) {
+        try {
+            return ResponseEntity.ok(presenceService.getPresence(userIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
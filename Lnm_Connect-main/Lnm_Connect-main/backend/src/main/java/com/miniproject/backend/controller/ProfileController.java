@@ -1,5 +1,6 @@
 package com.miniproject.backend.controller;
 
+import com.miniproject.backend.cache.UserSummaryCache;
 import com.miniproject.backend.model.User;
 import com.miniproject.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +13,8 @@ import org.springframework.web.bind.annotation.*;
 public class ProfileController {
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private UserSummaryCache userSummaryCache;
 
     // Get current user's profile
     @GetMapping("/me")
@@ -45,7 +48,9 @@ public class ProfileController {
             user.setPhotoUrl(userDetails.getPhotoUrl());
             user.setSkills(userDetails.getSkills());
             user.setInterests(userDetails.getInterests());
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            userSummaryCache.invalidate(userId);
+            return saved;
         }).orElse(null);
     }
 }
@@ -1,8 +1,10 @@
 package com.miniproject.backend.controller;
 
+import com.miniproject.backend.dto.ConnectionSuggestionDTO;
 import com.miniproject.backend.dto.EventRecommendationDTO;
 import com.miniproject.backend.dto.ProfileRecommendationDTO;
 import com.miniproject.backend.dto.ProjectRecommendationDTO;
+import com.miniproject.backend.service.ConnectionSuggestionService;
 import com.miniproject.backend.service.RecommendationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +20,9 @@ public class RecommendationController {
     @Autowired
     private RecommendationService recommendationService;
     
+    @Autowired
+    private ConnectionSuggestionService connectionSuggestionService;
+    
     /**
      * GET /api/recommendations/profiles/{userId}
      * Get profile recommendations for a user
@@ -26,7 +31,7 @@ public class RecommendationController {
     public ResponseEntity<?> getProfileRecommendations(@PathVariable String userId) {
         try {
             List<ProfileRecommendationDTO> recommendations = 
-                recommendationService.generateProfileRecommendations(userId);
+                recommendationService.getProfileRecommendations(userId);
             return ResponseEntity.ok(recommendations);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -42,7 +47,7 @@ public class RecommendationController {
     public ResponseEntity<?> getProjectRecommendations(@PathVariable String userId) {
         try {
             List<ProjectRecommendationDTO> recommendations = 
-                recommendationService.generateProjectRecommendations(userId);
+                recommendationService.getProjectRecommendations(userId);
             return ResponseEntity.ok(recommendations);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -58,7 +63,7 @@ public class RecommendationController {
     public ResponseEntity<?> getEventRecommendations(@PathVariable String userId) {
         try {
             List<EventRecommendationDTO> recommendations = 
-                recommendationService.generateEventRecommendations(userId);
+                recommendationService.getEventRecommendations(userId);
             return ResponseEntity.ok(recommendations);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -66,6 +71,22 @@ public class RecommendationController {
         }
     }
     
+    /**
+     * GET /api/recommendations/people-you-may-know/{userId}?limit=20
+     * Friend-of-friend suggestions ranked by mutual connections
+     */
+    @GetMapping("/people-you-may-know/{userId}")
+    public ResponseEntity<?> getPeopleYouMayKnow(@PathVariable String userId,
+                                                 @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<ConnectionSuggestionDTO> suggestions = connectionSuggestionService.getSuggestions(userId, limit);
+            return ResponseEntity.ok(suggestions);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body("Error generating connection suggestions: " + e.getMessage());
+        }
+    }
+    
     /**
      * POST /api/recommendations/refresh/{userId}
      * Refresh all recommendations for a user
@@ -89,9 +110,9 @@ public class RecommendationController {
     public ResponseEntity<?> getAllRecommendations(@PathVariable String userId) {
         try {
             java.util.Map<String, Object> allRecommendations = new java.util.HashMap<>();
-            allRecommendations.put("profiles", recommendationService.generateProfileRecommendations(userId));
-            allRecommendations.put("projects", recommendationService.generateProjectRecommendations(userId));
-            allRecommendations.put("events", recommendationService.generateEventRecommendations(userId));
+            allRecommendations.put("profiles", recommendationService.getProfileRecommendations(userId));
+            allRecommendations.put("projects", recommendationService.getProjectRecommendations(userId));
+            allRecommendations.put("events", recommendationService.getEventRecommendations(userId));
             return ResponseEntity.ok(allRecommendations);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -70,13 +70,54 @@ public class UserTagController {
     }
     
     /**
-     * Mark tags as read
-     * POST /api/tags/mark-read
+     * Mark several of a user's tags as read
+     * POST /api/tags/user/{userId}/mark-read  body: {"tagIds": [...]}
      */
-    @PostMapping("/mark-read")
-    public ResponseEntity<String> markTagsAsRead(@RequestBody Map<String, List<String>> request) {
+    @PostMapping("/user/{userId}/mark-read")
+    public ResponseEntity<?> markTagsAsRead(
+            @PathVariable String userId,
+            @RequestBody Map<String, List<String>> request) {
         List<String> tagIds = request.get("tagIds");
-        userTagService.markTagsAsRead(tagIds);
-        return ResponseEntity.ok("Tags marked as read");
+        if (tagIds == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "tagIds is required"));
+        }
+        long updated = userTagService.markTagsAsRead(userId, tagIds);
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
+    
+    /**
+     * Mark all of a user's tags as read
+     * POST /api/tags/user/{userId}/mark-all-read
+     */
+    @PostMapping("/user/{userId}/mark-all-read")
+    public ResponseEntity<Map<String, Long>> markAllTagsAsRead(@PathVariable String userId) {
+        long updated = userTagService.markAllTagsAsRead(userId);
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
+    
+    /**
+     * Delete several of a user's tags at once
+     * POST /api/tags/user/{userId}/delete  body: {"tagIds": [...]}
+     */
+    @PostMapping("/user/{userId}/delete")
+    public ResponseEntity<?> deleteTags(
+            @PathVariable String userId,
+            @RequestBody Map<String, List<String>> request) {
+        List<String> tagIds = request.get("tagIds");
+        if (tagIds == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "tagIds is required"));
+        }
+        long deleted = userTagService.deleteTags(userId, tagIds);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
+    }
+    
+    /**
+     * Delete all of a user's tags
+     * DELETE /api/tags/user/{userId}
+     */
+    @DeleteMapping("/user/{userId}")
+    public ResponseEntity<Map<String, Long>> deleteAllTags(@PathVariable String userId) {
+        long deleted = userTagService.deleteTags(userId, null);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
     }
 }
@@ -0,0 +1,22 @@
+package com.miniproject.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionSuggestionDTO {
+    private String userId;
+    private String name;
+    private String photoUrl;
+    private String education;
+    private String branchYear;
+    private String bio;
+    private List<String> skills;
+    private int mutualConnections;      // People you follow who follow this user
+    private List<String> mutualUserIds; // A few of them, for "followed by ..." text
+}
@@ -0,0 +1,22 @@
+package com.miniproject.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reply to a message sent over WebSocket, matched to the send by clientMessageId.
+ * On failure only clientMessageId and error are set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageAckDTO {
+    private String clientMessageId;
+    private String messageId;
+    private String chatRoomId;
+    private LocalDateTime timestamp;
+    private String error;
+}
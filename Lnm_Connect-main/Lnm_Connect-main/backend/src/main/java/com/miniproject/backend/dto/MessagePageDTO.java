@@ -0,0 +1,18 @@
+package com.miniproject.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessagePageDTO {
+    private List<MessageDTO> messages; // Oldest first, ready to render
+    private String beforeCursor;       // Pass as ?before= to load older messages
+    private String afterCursor;        // Pass as ?after= to load newer messages
+    private boolean hasMoreBefore;
+    private boolean hasMoreAfter;
+}
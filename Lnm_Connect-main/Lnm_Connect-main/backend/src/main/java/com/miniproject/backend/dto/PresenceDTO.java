@@ -0,0 +1,17 @@
+package com.miniproject.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceDTO {
+    private String userId;
+    private boolean online;
+    // Last disconnect seen by this server; null while online or if never seen
+    private LocalDateTime lastSeen;
+}
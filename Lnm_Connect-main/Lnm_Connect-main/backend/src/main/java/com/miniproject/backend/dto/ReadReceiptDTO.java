@@ -0,0 +1,24 @@
+package com.miniproject.backend.dto;
+
+import com.miniproject.backend.model.Message;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status watermark for a chat room: every message sent to readerId
+ * up to (upToTimestamp, upToMessageId) now has the given status
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadReceiptDTO {
+    private String chatRoomId;
+    private String readerId;
+    private Message.MessageStatus status;
+    private LocalDateTime upToTimestamp;
+    private String upToMessageId;
+    private long count;
+}
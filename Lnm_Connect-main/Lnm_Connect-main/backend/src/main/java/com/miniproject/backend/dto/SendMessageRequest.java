@@ -11,4 +11,6 @@ public class SendMessageRequest {
     private String receiverId;
     private String content;
     private String attachmentUrl;
+    // Client-generated id echoed back in the WebSocket ack
+    private String clientMessageId;
 }
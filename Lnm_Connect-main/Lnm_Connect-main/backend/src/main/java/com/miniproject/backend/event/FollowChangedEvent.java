@@ -0,0 +1,49 @@
+package com.miniproject.backend.event;
+
+import com.miniproject.backend.model.Follow.FollowStatus;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after a follow relationship is created, accepted, rejected or removed.
+ * previousStatus is the status before the change (null for a brand new request).
+ */
+public class FollowChangedEvent extends ApplicationEvent {
+
+    public enum Action {
+        REQUESTED,
+        ACCEPTED,
+        REJECTED,
+        REMOVED
+    }
+
+    private final String followerId;
+    private final String followingId;
+    private final Action action;
+    private final FollowStatus previousStatus;
+
+    public FollowChangedEvent(Object source, String followerId, String followingId,
+                              Action action, FollowStatus previousStatus) {
+        super(source);
+        this.followerId = followerId;
+        this.followingId = followingId;
+        this.action = action;
+        this.previousStatus = previousStatus;
+    }
+
+    // Getters
+    public String getFollowerId() {
+        return followerId;
+    }
+
+    public String getFollowingId() {
+        return followingId;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public FollowStatus getPreviousStatus() {
+        return previousStatus;
+    }
+}
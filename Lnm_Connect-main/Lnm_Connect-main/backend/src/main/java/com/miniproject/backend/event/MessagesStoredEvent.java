@@ -0,0 +1,22 @@
+package com.miniproject.backend.event;
+
+import com.miniproject.backend.model.Message;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Published after chat messages have been written to the messages collection
+ */
+public class MessagesStoredEvent extends ApplicationEvent {
+    private final List<Message> messages;
+    
+    public MessagesStoredEvent(Object source, List<Message> messages) {
+        super(source);
+        this.messages = messages;
+    }
+    
+    public List<Message> getMessages() {
+        return messages;
+    }
+}
@@ -0,0 +1,26 @@
+package com.miniproject.backend.listener;
+
+import com.miniproject.backend.service.ChatService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChatStartupListener {
+
+    @Autowired
+    private ChatService chatService;
+
+    /**
+     * Key chat rooms created before pairKey existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPairKeys() {
+        try {
+            chatService.backfillPairKeys();
+        } catch (Exception e) {
+            System.err.println("Failed to backfill chat room pair keys: " + e.getMessage());
+        }
+    }
+}
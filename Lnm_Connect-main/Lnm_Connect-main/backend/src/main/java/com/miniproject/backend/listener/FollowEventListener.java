@@ -0,0 +1,50 @@
+package com.miniproject.backend.listener;
+
+import com.miniproject.backend.event.FollowChangedEvent;
+import com.miniproject.backend.service.ConnectionSuggestionService;
+import com.miniproject.backend.service.FollowGraph;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FollowEventListener {
+
+    @Autowired
+    private FollowGraph followGraph;
+
+    @Autowired
+    private ConnectionSuggestionService connectionSuggestionService;
+
+    /**
+     * Load the follow graph once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFollowGraph() {
+        try {
+            followGraph.rebuild();
+        } catch (Exception e) {
+            System.err.println("Failed to load follow graph: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Keep the follow graph in step with accepted/removed edges
+     */
+    @EventListener
+    public void handleFollowChanged(FollowChangedEvent event) {
+        switch (event.getAction()) {
+            case ACCEPTED:
+                followGraph.addEdge(event.getFollowerId(), event.getFollowingId());
+                break;
+            case REJECTED:
+            case REMOVED:
+                followGraph.removeEdge(event.getFollowerId(), event.getFollowingId());
+                break;
+            default:
+                break;
+        }
+        connectionSuggestionService.invalidate(event.getFollowerId(), event.getFollowingId());
+    }
+}
@@ -0,0 +1,31 @@
+package com.miniproject.backend.listener;
+
+import com.miniproject.backend.event.MessagesStoredEvent;
+import com.miniproject.backend.service.MessageSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MessageSearchListener {
+
+    @Autowired
+    private MessageSearchService messageSearchService;
+
+    /**
+     * Catch the search index up with messages stored while it was not running
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIndex() {
+        messageSearchService.backfillAsync();
+    }
+
+    /**
+     * Index newly stored messages in the background
+     */
+    @EventListener
+    public void handleMessagesStored(MessagesStoredEvent event) {
+        messageSearchService.indexAsync(event.getMessages());
+    }
+}
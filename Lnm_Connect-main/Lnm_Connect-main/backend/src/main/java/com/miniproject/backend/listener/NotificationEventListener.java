@@ -1,5 +1,6 @@
 package com.miniproject.backend.listener;
 
+import com.miniproject.backend.config.MeteredTaskExecutor;
 import com.miniproject.backend.event.UserTaggedEvent;
 import com.miniproject.backend.event.MessageReceivedEvent;
 import com.miniproject.backend.service.NotificationService;
@@ -8,16 +9,22 @@ import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+/**
+ * Creates and pushes notifications on the notification executor, so publishers return without waiting
+ */
 @Component
 public class NotificationEventListener {
     
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private MeteredTaskExecutor notificationExecutor;
+    
     /**
      * Listen for UserTaggedEvent and create notification
      */
-    @Async
+    @Async("notificationExecutor")
     @EventListener
     public void handleUserTaggedEvent(UserTaggedEvent event) {
         try {
@@ -31,6 +38,7 @@ public class NotificationEventListener {
                 event.getActionUrl()
             );
         } catch (Exception e) {
+            notificationExecutor.recordFailure();
             System.err.println("Error handling UserTaggedEvent: " + e.getMessage());
         }
     }
@@ -38,7 +46,7 @@ public class NotificationEventListener {
     /**
      * Listen for MessageReceivedEvent and create notification
      */
-    @Async
+    @Async("notificationExecutor")
     @EventListener
     public void handleMessageReceivedEvent(MessageReceivedEvent event) {
         try {
@@ -51,6 +59,7 @@ public class NotificationEventListener {
                 event.getConversationId()
             );
         } catch (Exception e) {
+            notificationExecutor.recordFailure();
             System.err.println("Error handling MessageReceivedEvent: " + e.getMessage());
         }
     }
@@ -0,0 +1,51 @@
+package com.miniproject.backend.listener;
+
+import com.miniproject.backend.service.PresenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+
+/**
+ * Feeds the presence registry from the STOMP session lifecycle
+ */
+@Component
+public class PresenceEventListener {
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @EventListener
+    public void handleConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        if (user == null) {
+            return;
+        }
+        presenceService.sessionConnected(user.getName(), StompHeaderAccessor.wrap(event.getMessage()).getSessionId());
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        presenceService.sessionDisconnected(event.getSessionId());
+    }
+
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Principal user = event.getUser();
+        presenceService.subscribed(user != null ? user.getName() : null, accessor.getSessionId(),
+                accessor.getSubscriptionId(), accessor.getDestination());
+    }
+
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        presenceService.unsubscribed(accessor.getSessionId(), accessor.getSubscriptionId());
+    }
+}
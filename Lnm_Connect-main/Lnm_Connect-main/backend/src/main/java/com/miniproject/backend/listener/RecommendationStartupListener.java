@@ -0,0 +1,26 @@
+package com.miniproject.backend.listener;
+
+import com.miniproject.backend.service.RecommendationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RecommendationStartupListener {
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    /**
+     * Give projects and events stored before the match term fields existed their terms
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMatchTerms() {
+        try {
+            recommendationService.backfillMatchTerms();
+        } catch (Exception e) {
+            System.err.println("Failed to backfill recommendation match terms: " + e.getMessage());
+        }
+    }
+}
@@ -4,11 +4,20 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 
 @Document(collection = "chat_rooms")
+@CompoundIndexes({
+    @CompoundIndex(name = "user1_inbox_idx", def = "{'user1Id': 1, 'lastMessageAt': -1}"),
+    @CompoundIndex(name = "user2_inbox_idx", def = "{'user2Id': 1, 'lastMessageAt': -1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,14 +27,39 @@ public class ChatRoom {
     
     private String user1Id;
     private String user2Id;
+    
+    // Sorted "userA:userB"; one room per pair. Sparse so rooms from before the key existed can be backfilled
+    @Indexed(name = "pair_key_idx", unique = true, sparse = true)
+    private String pairKey;
     private LocalDateTime createdAt;
     private LocalDateTime lastMessageAt;
     
+    // Inbox summary, maintained atomically as messages are sent and read
+    private String lastMessageId;
+    private String lastMessage;             // Preview of the latest message
+    private String lastMessageSenderId;
+    private Message.MessageStatus lastMessageStatus;
+    private Map<String, Long> unreadCounts = new HashMap<>(); // userId -> unread messages
+    private Boolean summarized;             // null on rooms created before summaries existed
+    
+    // Timestamp of the newest message moved to message_archives; null while nothing is archived
+    private LocalDateTime archivedThrough;
+
+    // Every message older than this has been archived; rooms already archived to the current cutoff are skipped
+    private LocalDateTime archivedBefore;
+    
     public ChatRoom(String user1Id, String user2Id) {
         this.user1Id = user1Id;
         this.user2Id = user2Id;
+        this.pairKey = pairKey(user1Id, user2Id);
         this.createdAt = LocalDateTime.now();
         this.lastMessageAt = LocalDateTime.now();
+        this.summarized = true;
+    }
+    
+    // Canonical key for the room between two users, independent of argument order
+    public static String pairKey(String userA, String userB) {
+        return userA.compareTo(userB) <= 0 ? userA + ":" + userB : userB + ":" + userA;
     }
     
     // Check if a user is part of this chat room
@@ -33,6 +67,11 @@ public class ChatRoom {
         return user1Id.equals(userId) || user2Id.equals(userId);
     }
     
+    // Unread messages for one participant
+    public long getUnreadCount(String userId) {
+        return unreadCounts == null ? 0 : unreadCounts.getOrDefault(userId, 0L);
+    }
+    
     // Get the other user's ID
     public String getOtherUserId(String currentUserId) {
         return user1Id.equals(currentUserId) ? user2Id : user1Id;
@@ -1,11 +1,16 @@
 package com.miniproject.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.miniproject.backend.util.MatchTerms;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Document(collection = "events")
+@CompoundIndex(name = "upcoming_idx", def = "{'status': 1, 'isPublic': 1, 'eventDate': 1}")
 public class Event {
     @Id
     private String id;
@@ -17,6 +22,12 @@ public class Event {
     
     private List<String> domainTags; // e.g., ["AI", "Web Development", "Networking"]
     private List<String> skillFocus; // Skills participants will learn or use
+    // MatchTerms of domainTags and skillFocus, kept in step by their setters; candidate queries match on these.
+    // Internal, so not serialized; an Update that sets the source lists must set these too
+    @Indexed(name = "domain_tag_terms_idx")
+    private List<String> domainTagTerms;
+    @Indexed(name = "skill_focus_terms_idx")
+    private List<String> skillFocusTerms;
     private String activityType; // "workshop", "hackathon", "seminar", "competition", "meetup"
     
     private LocalDateTime eventDate;
@@ -62,10 +73,22 @@ public class Event {
     public void setOrganizerType(String organizerType) { this.organizerType = organizerType; }
     
     public List<String> getDomainTags() { return domainTags; }
-    public void setDomainTags(List<String> domainTags) { this.domainTags = domainTags; }
+    public void setDomainTags(List<String> domainTags) {
+        this.domainTags = domainTags;
+        this.domainTagTerms = MatchTerms.of(domainTags);
+    }
     
     public List<String> getSkillFocus() { return skillFocus; }
-    public void setSkillFocus(List<String> skillFocus) { this.skillFocus = skillFocus; }
+    public void setSkillFocus(List<String> skillFocus) {
+        this.skillFocus = skillFocus;
+        this.skillFocusTerms = MatchTerms.of(skillFocus);
+    }
+    
+    @JsonIgnore
+    public List<String> getDomainTagTerms() { return domainTagTerms; }
+    
+    @JsonIgnore
+    public List<String> getSkillFocusTerms() { return skillFocusTerms; }
     
     public String getActivityType() { return activityType; }
     public void setActivityType(String activityType) { this.activityType = activityType; }
@@ -4,15 +4,22 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 
 @Document(collection = "messages")
+@CompoundIndex(name = "room_history_idx", def = "{'chatRoomId': 1, 'timestamp': -1, '_id': -1}")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Message {
+    // Chat history order, oldest first; the same (timestamp, _id) order the paging cursors use
+    public static final Comparator<Message> HISTORY_ORDER =
+            Comparator.comparing(Message::getTimestamp).thenComparing(Message::getId);
+    
     @Id
     private String id;
     
@@ -0,0 +1,44 @@
+package com.miniproject.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * One room's messages for one ISO week (Monday 00:00 onwards), moved out of the messages collection.
+ * The messages are a gzip-compressed JSON array ordered by (timestamp, id), so the archive costs one
+ * small index entry per room-week however many messages it holds.
+ */
+@Document(collection = "message_archives")
+@CompoundIndex(name = "room_week_idx", def = "{'chatRoomId': 1, 'weekStart': -1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageArchive {
+    @Id
+    private String id;              // chatRoomId + ":" + week start date
+
+    private String chatRoomId;
+    private LocalDateTime weekStart;
+    private LocalDateTime oldestTimestamp;
+    private LocalDateTime newestTimestamp;
+    private int messageCount;
+    private byte[] data;            // gzip(JSON array of Message)
+    private LocalDateTime archivedAt;
+
+    // Start of the ISO week a timestamp falls in
+    public static LocalDateTime weekStart(LocalDateTime timestamp) {
+        return timestamp.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+    }
+
+    public static String blockId(String chatRoomId, LocalDateTime timestamp) {
+        return chatRoomId + ":" + weekStart(timestamp).toLocalDate();
+    }
+}
@@ -0,0 +1,36 @@
+package com.miniproject.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Search posting for one message as seen by one participant.
+ * Each message gets an entry per participant so a search is scoped to the user's own rooms
+ * by an equality on userId, ahead of the multikey terms field in the index.
+ */
+@Document(collection = "message_search")
+@CompoundIndexes({
+    @CompoundIndex(name = "user_terms_recent_idx", def = "{'userId': 1, 'terms': 1, 'timestamp': -1, 'messageId': -1}"),
+    @CompoundIndex(name = "message_idx", def = "{'messageId': -1}")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSearchEntry {
+    @Id
+    private String id;              // messageId + ":" + userId, so re-indexing is idempotent
+    
+    private String userId;
+    private String messageId;
+    private String chatRoomId;
+    private List<String> terms;     // Lower-cased distinct words of the content
+    private LocalDateTime timestamp;
+}
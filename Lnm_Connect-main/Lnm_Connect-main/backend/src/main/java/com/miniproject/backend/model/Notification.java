@@ -1,11 +1,15 @@
 package com.miniproject.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.CompoundIndexes;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Document(collection = "notifications")
 @CompoundIndexes({
     @CompoundIndex(name = "receiver_read_idx", def = "{'receiverId': 1, 'isRead': 1, 'createdAt': -1}"),
@@ -39,6 +43,13 @@ public class Notification {
     private String actionUrl; // URL to navigate when clicked
     private String previewText; // Preview of the content
     
+    // Coalesced reactions: one rolling document per (receiver, type, entity, window); null on ordinary notifications
+    @Indexed(name = "group_key_idx", unique = true, sparse = true)
+    private String groupKey;
+    private int actorCount;
+    private List<Actor> recentActors = new ArrayList<>(); // Newest last, capped
+    private List<String> actorIds = new ArrayList<>(); // Distinct actors counted, newest last, capped; for dedup only
+    
     public enum NotificationType {
         TAG_IN_POST,
         TAG_IN_COMMENT,
@@ -179,4 +190,67 @@ public class Notification {
     public void setPreviewText(String previewText) {
         this.previewText = previewText;
     }
+    
+    public String getGroupKey() {
+        return groupKey;
+    }
+    
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+    
+    public int getActorCount() {
+        return actorCount;
+    }
+    
+    public void setActorCount(int actorCount) {
+        this.actorCount = actorCount;
+    }
+    
+    public List<Actor> getRecentActors() {
+        return recentActors;
+    }
+    
+    public void setRecentActors(List<Actor> recentActors) {
+        this.recentActors = recentActors;
+    }
+    
+    @JsonIgnore
+    public List<String> getActorIds() {
+        return actorIds;
+    }
+    
+    public void setActorIds(List<String> actorIds) {
+        this.actorIds = actorIds;
+    }
+    
+    // A user who reacted, as shown in a coalesced notification
+    public static class Actor {
+        private String userId;
+        private String name;
+        
+        public Actor() {
+        }
+        
+        public Actor(String userId, String name) {
+            this.userId = userId;
+            this.name = name;
+        }
+        
+        public String getUserId() {
+            return userId;
+        }
+        
+        public void setUserId(String userId) {
+            this.userId = userId;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
 }
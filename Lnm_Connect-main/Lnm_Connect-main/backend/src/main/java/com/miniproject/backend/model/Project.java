@@ -1,11 +1,16 @@
 package com.miniproject.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.miniproject.backend.util.MatchTerms;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Document(collection = "projects")
+@CompoundIndex(name = "recruiting_idx", def = "{'status': 1, 'isActive': 1}")
 public class Project {
     @Id
     private String id;
@@ -16,6 +21,12 @@ public class Project {
     
     private List<String> requiredSkills;
     private List<String> tags;
+    // MatchTerms of requiredSkills and tags, kept in step by their setters; candidate queries match on these.
+    // Internal, so not serialized; an Update that sets the source lists must set these too
+    @Indexed(name = "required_skill_terms_idx")
+    private List<String> requiredSkillTerms;
+    @Indexed(name = "tag_terms_idx")
+    private List<String> tagTerms;
     private String domain; // e.g., "Web Development", "AI/ML", "Mobile Apps"
     private String techStack; // e.g., "React, Node.js, MongoDB"
     private Integer teamSize;
@@ -55,10 +66,22 @@ public class Project {
     public void setOwnerName(String ownerName) { this.ownerName = ownerName; }
     
     public List<String> getRequiredSkills() { return requiredSkills; }
-    public void setRequiredSkills(List<String> requiredSkills) { this.requiredSkills = requiredSkills; }
+    public void setRequiredSkills(List<String> requiredSkills) {
+        this.requiredSkills = requiredSkills;
+        this.requiredSkillTerms = MatchTerms.of(requiredSkills);
+    }
     
     public List<String> getTags() { return tags; }
-    public void setTags(List<String> tags) { this.tags = tags; }
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+        this.tagTerms = MatchTerms.of(tags);
+    }
+    
+    @JsonIgnore
+    public List<String> getRequiredSkillTerms() { return requiredSkillTerms; }
+    
+    @JsonIgnore
+    public List<String> getTagTerms() { return tagTerms; }
     
     public String getDomain() { return domain; }
     public void setDomain(String domain) { this.domain = domain; }
@@ -1,5 +1,6 @@
 package com.miniproject.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,5 +12,7 @@ public class TypingIndicator {
     private String chatRoomId;
     private String userId;
     private String userName;
+    // Keep the client's "isTyping" name; Lombok's isTyping() getter would otherwise map it to "typing"
+    @JsonProperty("isTyping")
     private boolean isTyping;
 }
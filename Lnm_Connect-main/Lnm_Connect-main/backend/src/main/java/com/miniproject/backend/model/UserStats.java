@@ -0,0 +1,39 @@
+package com.miniproject.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized per-user counters, keyed by user id.
+ * Maintained with $inc as follow edges change and repaired by a periodic reconciliation.
+ * Unread badge counters start out missing and are counted once on first read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "user_stats")
+public class UserStats {
+
+    public static final String UNREAD_NOTIFICATIONS = "unreadNotificationCount";
+    public static final String UNREAD_TAGS = "unreadTagCount";
+
+    @Id
+    private String id;              // Same as the user's id
+
+    private long followerCount;     // Accepted follows pointing at this user
+
+    private long followingCount;    // Accepted follows this user made
+
+    private long connectionCount;   // Users followed in both directions
+
+    private Long unreadNotificationCount;   // null until first read
+
+    private Long unreadTagCount;            // null until first read
+
+    private LocalDateTime updatedAt;
+}
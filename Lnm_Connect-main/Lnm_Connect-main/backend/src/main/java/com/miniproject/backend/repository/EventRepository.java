@@ -21,11 +21,14 @@ public interface EventRepository extends MongoRepository<Event, String> {
     // Find events by activity type
     List<Event> findByActivityTypeAndIsPublicTrueOrderByEventDateAsc(String activityType);
     
-    // Find events by domain tags (contains any of the tags)
-    @Query("{'domainTags': {$in: ?0}, 'isPublic': true, 'status': 'upcoming'}")
-    List<Event> findByDomainTagsIn(List<String> tags);
+    // Find upcoming events with open spots whose domain tags or skill focus include any of the given MatchTerms
+    @Query("{'eventDate': {$gte: ?2}, 'status': 'upcoming', 'isPublic': true, " +
+           "$expr: {$lt: ['$currentParticipants', '$maxParticipants']}, " +
+           "$or: [{'domainTagTerms': {$in: ?0}}, {'skillFocusTerms': {$in: ?1}}]}")
+    List<Event> findByDomainTagsIn(List<String> tagTerms, List<String> skillTerms, LocalDateTime now);
     
-    // Find events with available spots
-    @Query("{'currentParticipants': {$lt: '$maxParticipants'}, 'status': 'upcoming', 'isPublic': true}")
-    List<Event> findEventsWithAvailableSpots();
+    // Find upcoming events with available spots
+    @Query("{'eventDate': {$gte: ?0}, 'status': 'upcoming', 'isPublic': true, " +
+           "$expr: {$lt: ['$currentParticipants', '$maxParticipants']}}")
+    List<Event> findEventsWithAvailableSpots(LocalDateTime now);
 }
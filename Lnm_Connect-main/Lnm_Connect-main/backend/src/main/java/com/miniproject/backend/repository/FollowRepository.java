@@ -5,6 +5,7 @@ import com.miniproject.backend.model.Follow.FollowStatus;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,12 @@ public interface FollowRepository extends MongoRepository<Follow, String> {
     // Find specific follow relationship
     Optional<Follow> findByFollowerIdAndFollowingId(String followerId, String followingId);
     
+    // Outgoing edges from one user to any of the given users (batch status)
+    List<Follow> findByFollowerIdAndFollowingIdIn(String followerId, Collection<String> followingIds);
+    
+    // Incoming edges from any of the given users to one user (batch status)
+    List<Follow> findByFollowerIdInAndFollowingId(Collection<String> followerIds, String followingId);
+    
     // Get all followers of a user (people who follow this user)
     List<Follow> findByFollowingIdAndStatus(String followingId, FollowStatus status);
     
@@ -38,6 +45,15 @@ public interface FollowRepository extends MongoRepository<Follow, String> {
     // Delete specific follow relationship
     void deleteByFollowerIdAndFollowingId(String followerId, String followingId);
     
+    // Reverse edges: which of the given users follow this user back
+    List<Follow> findByFollowerIdInAndFollowingIdAndStatus(Collection<String> followerIds, String followingId, FollowStatus status);
+    
+    // Count how many of the given users follow this user back
+    long countByFollowerIdInAndFollowingIdAndStatus(Collection<String> followerIds, String followingId, FollowStatus status);
+    
+    // Accepted outgoing edges of several users at once (batched mutual counts)
+    List<Follow> findByFollowerIdInAndStatus(Collection<String> followerIds, FollowStatus status);
+    
     // Get all follows (for mutual connections calculation)
     List<Follow> findByFollowerIdOrFollowingId(String userId1, String userId2);
 }
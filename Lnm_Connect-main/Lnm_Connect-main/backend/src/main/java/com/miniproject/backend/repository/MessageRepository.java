@@ -20,4 +20,6 @@ public interface MessageRepository extends MongoRepository<Message, String> {
     long countByChatRoomIdAndReceiverIdAndStatusNot(String chatRoomId, String receiverId, Message.MessageStatus status);
     
     List<Message> findByChatRoomIdAndReceiverIdAndStatus(String chatRoomId, String receiverId, Message.MessageStatus status);
+    
+    Message findTopByChatRoomIdAndReceiverIdAndStatusInOrderByTimestampDescIdDesc(String chatRoomId, String receiverId, List<Message.MessageStatus> statuses);
 }
@@ -19,11 +19,12 @@ public interface ProjectRepository extends MongoRepository<Project, String> {
     // Find projects by domain
     List<Project> findByDomainAndIsActiveTrueOrderByCreatedAtDesc(String domain);
     
-    // Find projects that are recruiting
-    @Query("{'status': 'recruiting', 'isActive': true, 'currentTeamMembers': {$lt: '$teamSize'}}")
+    // Find projects that are recruiting and still have open spots
+    @Query("{'status': 'recruiting', 'isActive': true, $expr: {$lt: ['$currentTeamMembers', '$teamSize']}}")
     List<Project> findRecruitingProjects();
     
-    // Find projects by required skills (contains any of the skills)
-    @Query("{'requiredSkills': {$in: ?0}, 'isActive': true}")
-    List<Project> findByRequiredSkillsIn(List<String> skills);
+    // Find recruiting projects with open spots whose required skills or tags include any of the given MatchTerms
+    @Query("{'status': 'recruiting', 'isActive': true, $expr: {$lt: ['$currentTeamMembers', '$teamSize']}, " +
+           "$or: [{'requiredSkillTerms': {$in: ?0}}, {'tagTerms': {$in: ?1}}]}")
+    List<Project> findByRequiredSkillsIn(List<String> skillTerms, List<String> tagTerms);
 }
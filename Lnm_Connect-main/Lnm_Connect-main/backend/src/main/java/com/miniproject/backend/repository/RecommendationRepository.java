@@ -1,6 +1,7 @@
 package com.miniproject.backend.repository;
 
 import com.miniproject.backend.model.Recommendation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import java.util.List;
@@ -10,6 +11,9 @@ public interface RecommendationRepository extends MongoRepository<Recommendation
     // Find all recommendations for a user by type
     List<Recommendation> findByUserIdAndTargetTypeOrderBySimilarityScoreDesc(String userId, String targetType);
     
+    // Find the top N recommendations for a user by type
+    List<Recommendation> findByUserIdAndTargetTypeOrderBySimilarityScoreDesc(String userId, String targetType, Pageable pageable);
+    
     // Find a specific recommendation
     Recommendation findByUserIdAndTargetTypeAndTargetId(String userId, String targetType, String targetId);
     
@@ -1,5 +1,6 @@
 package com.miniproject.backend.service;
 
+import com.miniproject.backend.cache.UserSummaryCache;
 import com.miniproject.backend.model.Application;
 import com.miniproject.backend.model.Post;
 import com.miniproject.backend.model.User;
@@ -9,6 +10,7 @@ import com.miniproject.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.*;
+import java.util.stream.Collectors;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 import com.miniproject.backend.dto.ApplicantDTO;
@@ -25,6 +27,8 @@ public class ApplicationService {
     private UserRepository userRepository;
     @Autowired
     private ChatService chatService;
+    @Autowired
+    private UserSummaryCache userSummaryCache;
 
     public Application applyToPost(String userId, String postId) {
         if (userId == null || userId.isEmpty()) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
@@ -57,8 +61,14 @@ public class ApplicationService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not authorized to view applicants");
         List<Application> apps = applicationRepository.findByPostId(postId);
         List<ApplicantDTO> applicants = new ArrayList<>();
+        // Applicants need an email, which the summary cache does not hold; load them in one query
+        Map<String, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(apps.stream().map(Application::getUserId).collect(Collectors.toSet()))) {
+            users.put(user.getId(), user);
+        }
         for (Application app : apps) {
-            userRepository.findById(app.getUserId()).ifPresent(user -> {
+            User user = users.get(app.getUserId());
+            if (user != null) {
                 applicants.add(new ApplicantDTO(
                     user.getId(), 
                     user.getName(), 
@@ -67,7 +77,7 @@ public class ApplicationService {
                     app.getStatus().toString(),
                     app.getId()
                 ));
-            });
+            }
         }
         return applicants;
     }
@@ -114,8 +124,7 @@ public class ApplicationService {
         applicationRepository.save(application);
 
         // Send notification to applicant via chat
-        User applicant = userRepository.findById(application.getUserId()).orElse(null);
-        if (applicant != null) {
+        if (userSummaryCache.get(application.getUserId()) != null) {
             String message = String.format("🎉 Congratulations! Your application for '%s' has been ACCEPTED!", 
                     post.getTitle() != null ? post.getTitle() : "the post");
             
@@ -148,8 +157,7 @@ public class ApplicationService {
         applicationRepository.save(application);
 
         // Send notification to applicant via chat
-        User applicant = userRepository.findById(application.getUserId()).orElse(null);
-        if (applicant != null) {
+        if (userSummaryCache.get(application.getUserId()) != null) {
             String message = String.format("Thank you for your interest in '%s'. Unfortunately, we've decided to move forward with other candidates at this time.", 
                     post.getTitle() != null ? post.getTitle() : "the post");
             
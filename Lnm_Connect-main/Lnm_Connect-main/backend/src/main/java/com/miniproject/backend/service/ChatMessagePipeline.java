@@ -0,0 +1,377 @@
+package com.miniproject.backend.service;
+
+import com.miniproject.backend.dto.MessageAckDTO;
+import com.miniproject.backend.dto.MessageDTO;
+import com.miniproject.backend.dto.SendMessageRequest;
+import com.miniproject.backend.model.Message;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordered persistence path for chat messages.
+ * Each room hashes to one stripe, and each stripe has a single worker, so messages in a room
+ * are stored and pushed in the order they were accepted.
+ *
+ * Write-through (default): a worker drains whatever has queued up since its last pass, stores it
+ * with one insertMany, then acks each sender with the assigned id and fans the messages out.
+ * Ids are assigned before the insert, so after a partial insertMany the rest are stored one by one
+ * and only the messages that could not be stored are rejected.
+ *
+ * Write-behind: the id and timestamp are assigned on accept and the message is acked and broadcast
+ * immediately (two sends racing in one room may be broadcast out of order, but their (timestamp, _id)
+ * follows the journal); the stripe queue becomes a bounded journal that is flushed when it holds batch-size
+ * messages or flush-interval-ms after its oldest entry. Messages still in the journal are lost if
+ * the process dies, so the flush interval is the durability/latency trade-off. A full journal blocks
+ * senders for up to offer-timeout-ms, then rejects them. Read and delivered receipts wait for the
+ * journal (awaitStored) so they cover the messages they acknowledge.
+ */
+@Service
+public class ChatMessagePipeline {
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${chat.pipeline.stripes:8}")
+    private int stripeCount;
+
+    @Value("${chat.pipeline.batch-size:100}")
+    private int batchSize;
+
+    @Value("${chat.pipeline.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${chat.pipeline.write-behind:false}")
+    private boolean writeBehind;
+
+    @Value("${chat.pipeline.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${chat.pipeline.offer-timeout-ms:100}")
+    private long offerTimeoutMs;
+
+    private static final int FLUSH_ATTEMPTS = 3;
+
+    // Longest a receipt waits for the journal before going ahead with what is stored
+    private static final long AWAIT_STORED_MS = 5000;
+
+    private Stripe[] stripes;
+
+    @PostConstruct
+    public void start() {
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(i);
+            stripes[i].thread.start();
+        }
+    }
+
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Accept a message from senderId. Throws IllegalArgumentException for an invalid request
+     * and IllegalStateException when the room's stripe is full.
+     * In write-behind mode the broadcast message is returned; otherwise null, and the ack follows the insert.
+     */
+    public MessageDTO submit(String senderId, SendMessageRequest request) {
+        if (request.getReceiverId() == null || request.getReceiverId().isEmpty()) {
+            throw new IllegalArgumentException("receiverId is required");
+        }
+        if (senderId.equals(request.getReceiverId())) {
+            throw new IllegalArgumentException("Cannot message yourself");
+        }
+        boolean hasContent = request.getContent() != null && !request.getContent().isBlank();
+        boolean hasAttachment = request.getAttachmentUrl() != null && !request.getAttachmentUrl().isBlank();
+        if (!hasContent && !hasAttachment) {
+            throw new IllegalArgumentException("Message is empty");
+        }
+
+        String chatRoomId = chatService.getOrCreateChatRoom(senderId, request.getReceiverId());
+        Message message = new Message(chatRoomId, senderId, request.getReceiverId(), request.getContent());
+        message.setAttachmentUrl(request.getAttachmentUrl());
+
+        Stripe stripe = stripes[Math.floorMod(chatRoomId.hashCode(), stripes.length)];
+        Pending pending = new Pending(message, request.getClientMessageId());
+        if (!writeBehind) {
+            if (!stripe.queue.offer(pending)) {
+                throw new IllegalStateException("Chat is busy, please retry");
+            }
+            return null;
+        }
+
+        // Wait for journal space outside the lock, so a full journal never holds up the stripe
+        try {
+            if (!stripe.space.tryAcquire(offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Chat is busy, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Chat is busy, please retry");
+        }
+
+        // Stamp and journal under the stripe lock, so (timestamp, _id) follows journal order within a room
+        synchronized (stripe) {
+            message.setId(new ObjectId().toHexString());
+            message.setTimestamp(LocalDateTime.now());
+            stripe.queue.add(pending);
+            stripe.accepted++;
+        }
+        if (pending.clientMessageId != null) {
+            ack(pending);
+        }
+        return chatService.publishMessage(message);
+    }
+
+    /**
+     * In write-behind mode, wait until everything journaled for the room's stripe so far has been flushed
+     * (or given up on), so a receipt that follows does not miss messages the user has already seen
+     */
+    public void awaitStored(String chatRoomId) {
+        if (!writeBehind) {
+            return;
+        }
+        Stripe stripe = stripes[Math.floorMod(chatRoomId.hashCode(), stripes.length)];
+        long deadline = System.currentTimeMillis() + AWAIT_STORED_MS;
+        synchronized (stripe) {
+            long target = stripe.accepted;
+            while (stripe.flushed < target) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    System.err.println("Timed out waiting for the chat journal of room " + chatRoomId);
+                    return;
+                }
+                try {
+                    stripe.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tell the sender a message could not be accepted
+     */
+    public void reject(String senderId, String clientMessageId, String error) {
+        messagingTemplate.convertAndSendToUser(senderId, "/queue/acks",
+                new MessageAckDTO(clientMessageId, null, null, null, error));
+    }
+
+    /**
+     * Stop accepting work and let each stripe drain what it has queued
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (Stripe stripe : stripes) {
+            stripe.running = false;
+        }
+        for (Stripe stripe : stripes) {
+            stripe.thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void ack(Pending pending) {
+        Message message = pending.message;
+        messagingTemplate.convertAndSendToUser(message.getSenderId(), "/queue/acks",
+                new MessageAckDTO(pending.clientMessageId, message.getId(), message.getChatRoomId(),
+                        message.getTimestamp(), null));
+    }
+
+    /**
+     * Store a journal batch whose messages were already acked and broadcast, retrying a few times.
+     * The follow-up work runs once, for whatever ended up stored.
+     */
+    private void flush(List<Pending> batch) {
+        List<Message> messages = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            messages.add(pending.message);
+        }
+
+        for (int attempt = 1; attempt <= FLUSH_ATTEMPTS; attempt++) {
+            List<Message> stored;
+            try {
+                chatService.insertMessages(messages);
+                stored = messages;
+            } catch (DuplicateKeyException e) {
+                // A retry after a partially applied insertMany; store the rest one by one
+                stored = insertIndividually(messages);
+            } catch (Exception e) {
+                System.err.println("Chat journal flush attempt " + attempt + " failed: " + e.getMessage());
+                try {
+                    Thread.sleep(200L * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                continue;
+            }
+            if (stored.size() < messages.size()) {
+                System.err.println("Dropped " + (messages.size() - stored.size()) + " journaled chat messages");
+            }
+            chatService.recordStored(stored);
+            return;
+        }
+        System.err.println("Dropped " + messages.size() + " journaled chat messages after " + FLUSH_ATTEMPTS + " attempts");
+    }
+
+    /**
+     * Insert what a partial insertMany left out, one message at a time. The ids were assigned before the
+     * batch insert, so a duplicate key means the message is already stored. Returns the stored messages
+     * in order; the ones that failed are logged and left out.
+     */
+    private List<Message> insertIndividually(List<Message> messages) {
+        List<Message> stored = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                chatService.insertMessage(message);
+                stored.add(message);
+            } catch (DuplicateKeyException e) {
+                // Already stored by the partial insert
+                stored.add(message);
+            } catch (Exception e) {
+                System.err.println("Failed to store chat message " + message.getId() + ": " + e.getMessage());
+            }
+        }
+        return stored;
+    }
+
+    private void process(List<Pending> batch) {
+        if (writeBehind) {
+            flush(batch);
+            return;
+        }
+
+        List<Message> messages = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            // Stamp and id in drain order so (timestamp, _id) follows the order within each room
+            pending.message.setId(new ObjectId().toHexString());
+            pending.message.setTimestamp(LocalDateTime.now());
+            messages.add(pending.message);
+        }
+
+        List<Message> stored;
+        try {
+            chatService.insertMessages(messages);
+            stored = messages;
+        } catch (Exception e) {
+            // An ordered insertMany stops at the first failure; keep what it stored and insert the rest one by one
+            System.err.println("Batch insert of " + batch.size() + " chat messages failed, storing them one by one: " + e.getMessage());
+            stored = insertIndividually(messages);
+        }
+        try {
+            chatService.recordStored(stored);
+        } catch (Exception e) {
+            System.err.println("Failed to update rooms for " + stored.size() + " stored chat messages: " + e.getMessage());
+        }
+
+        Set<String> storedIds = new HashSet<>();
+        for (Message message : stored) {
+            storedIds.add(message.getId());
+        }
+        for (Pending pending : batch) {
+            Message message = pending.message;
+            if (!storedIds.contains(message.getId())) {
+                reject(message.getSenderId(), pending.clientMessageId, "Failed to send message");
+                continue;
+            }
+            ack(pending);
+            try {
+                chatService.publishMessage(message);
+            } catch (Exception e) {
+                System.err.println("Failed to fan out chat message " + message.getId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final Message message;
+        private final String clientMessageId;
+
+        private Pending(Message message, String clientMessageId) {
+            this.message = message;
+            this.clientMessageId = clientMessageId;
+        }
+    }
+
+    private final class Stripe implements Runnable {
+        private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>(queueCapacity);
+        // Write-behind journal slots, returned once a batch has been flushed
+        private final Semaphore space = new Semaphore(queueCapacity);
+        private final Thread thread;
+        private volatile boolean running = true;
+        // Write-behind messages journaled and flushed so far; guarded by the stripe lock
+        private long accepted;
+        private long flushed;
+
+        private Stripe(int index) {
+            this.thread = new Thread(this, "chat-pipeline-" + index);
+        }
+
+        @Override
+        public void run() {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    if (writeBehind) {
+                        // Hold the batch until it is full or the oldest entry is flush-interval-ms old
+                        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                        while (batch.size() < batchSize && running) {
+                            long remaining = deadline - System.nanoTime();
+                            if (remaining <= 0) {
+                                break;
+                            }
+                            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                            if (next == null) {
+                                break;
+                            }
+                            batch.add(next);
+                            queue.drainTo(batch, batchSize - batch.size());
+                        }
+                    }
+                    process(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    System.err.println("Chat pipeline error: " + e.getMessage());
+                } finally {
+                    if (writeBehind && !batch.isEmpty()) {
+                        space.release(batch.size());
+                        synchronized (this) {
+                            flushed += batch.size();
+                            notifyAll();
+                        }
+                    }
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
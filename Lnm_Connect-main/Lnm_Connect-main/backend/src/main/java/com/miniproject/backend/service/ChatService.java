@@ -1,26 +1,48 @@
 package com.miniproject.backend.service;
 
+import com.miniproject.backend.cache.LruTtlCache;
+import com.miniproject.backend.cache.UserSummary;
+import com.miniproject.backend.cache.UserSummaryCache;
 import com.miniproject.backend.dto.ChatConversationDTO;
+import com.miniproject.backend.dto.CursorPageDTO;
 import com.miniproject.backend.dto.MessageDTO;
+import com.miniproject.backend.dto.MessagePageDTO;
+import com.miniproject.backend.dto.ReadReceiptDTO;
 import com.miniproject.backend.dto.SendMessageRequest;
 import com.miniproject.backend.model.ChatRoom;
 import com.miniproject.backend.model.Message;
-import com.miniproject.backend.model.User;
+import com.miniproject.backend.model.MessageArchive;
+import com.miniproject.backend.model.MessageSearchEntry;
 import com.miniproject.backend.repository.ChatRoomRepository;
 import com.miniproject.backend.repository.MessageRepository;
-import com.miniproject.backend.repository.UserRepository;
 import com.miniproject.backend.event.MessageReceivedEvent;
+import com.miniproject.backend.event.MessagesStoredEvent;
+import com.miniproject.backend.util.Cursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,23 +50,114 @@ public class ChatService {
     
     private final ChatRoomRepository chatRoomRepository;
     private final MessageRepository messageRepository;
-    private final UserRepository userRepository;
     private final SimpMessagingTemplate messagingTemplate;
     private final ApplicationEventPublisher eventPublisher;
+    private final MongoTemplate mongoTemplate;
+    private final UserSummaryCache userSummaryCache;
+    private final PresenceService presenceService;
+    private final MessageSearchService messageSearchService;
+    private final MessageArchiveService messageArchiveService;
+    
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int PREVIEW_LENGTH = 200;
+    
+    // Pair key -> room id; room ids never change, so the TTL only bounds memory for idle pairs
+    private static final int PAIR_CACHE_SIZE = 50000;
+    private static final long PAIR_CACHE_TTL_HOURS = 24;
+    
+    private final LruTtlCache<String, String> roomIdsByPair =
+            new LruTtlCache<>(PAIR_CACHE_SIZE, PAIR_CACHE_TTL_HOURS, TimeUnit.HOURS);
+    
+    // Set once every pre-existing room has a pairKey, after which misses skip the legacy lookup
+    private volatile boolean legacyRoomsKeyed;
     
     /**
-     * Get or create a chat room between two users
+     * Get or create a chat room between two users.
+     * Served from the pair cache; a miss resolves the room with one atomic upsert on the unique pairKey.
      */
-    @Transactional
     public String getOrCreateChatRoom(String user1Id, String user2Id) {
-        // Check if chat room already exists
+        String pairKey = ChatRoom.pairKey(user1Id, user2Id);
+        String cached = roomIdsByPair.get(pairKey);
+        if (cached != null) {
+            return cached;
+        }
+        
+        String chatRoomId = legacyRoomsKeyed ? null : adoptLegacyRoom(user1Id, user2Id, pairKey);
+        if (chatRoomId == null) {
+            chatRoomId = upsertRoom(user1Id, user2Id, pairKey);
+        }
+        roomIdsByPair.put(pairKey, chatRoomId);
+        return chatRoomId;
+    }
+    
+    private String upsertRoom(String user1Id, String user2Id, String pairKey) {
+        Query query = new Query(Criteria.where("pairKey").is(pairKey));
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .setOnInsert("user1Id", user1Id)
+                .setOnInsert("user2Id", user2Id)
+                .setOnInsert("createdAt", now)
+                .setOnInsert("lastMessageAt", now)
+                .setOnInsert("unreadCounts", new HashMap<String, Long>())
+                .setOnInsert("summarized", true);
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+        try {
+            return mongoTemplate.findAndModify(query, update, options, ChatRoom.class).getId();
+        } catch (DuplicateKeyException e) {
+            // Two first messages raced; the other upsert created the room
+            query.fields().include("_id");
+            return mongoTemplate.findOne(query, ChatRoom.class).getId();
+        }
+    }
+    
+    /**
+     * Before the startup backfill has finished, a pair may still have an unkeyed room; key it instead of creating another
+     */
+    private String adoptLegacyRoom(String user1Id, String user2Id, String pairKey) {
         return chatRoomRepository.findByUsers(user1Id, user2Id)
-                .map(ChatRoom::getId)
-                .orElseGet(() -> {
-                    // Create new chat room
-                    ChatRoom chatRoom = new ChatRoom(user1Id, user2Id);
-                    return chatRoomRepository.save(chatRoom).getId();
-                });
+                .map(room -> {
+                    if (room.getPairKey() == null) {
+                        keyRoom(room.getId(), pairKey);
+                    }
+                    return room.getId();
+                })
+                .orElse(null);
+    }
+    
+    private boolean keyRoom(String chatRoomId, String pairKey) {
+        try {
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(chatRoomId).and("pairKey").exists(false)),
+                    new Update().set("pairKey", pairKey),
+                    ChatRoom.class
+            );
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Give every room created before pairKey existed its key. Duplicate rooms for a pair keep no key and are reported.
+     */
+    public void backfillPairKeys() {
+        Query query = new Query(Criteria.where("pairKey").exists(false));
+        query.fields().include("user1Id", "user2Id");
+        int keyed = 0;
+        int duplicates = 0;
+        try (Stream<ChatRoom> rooms = mongoTemplate.stream(query, ChatRoom.class)) {
+            for (ChatRoom room : (Iterable<ChatRoom>) rooms::iterator) {
+                if (keyRoom(room.getId(), ChatRoom.pairKey(room.getUser1Id(), room.getUser2Id()))) {
+                    keyed++;
+                } else {
+                    duplicates++;
+                    System.err.println("Chat room " + room.getId() + " duplicates another room for the same users; left unkeyed");
+                }
+            }
+        }
+        legacyRoomsKeyed = true;
+        System.out.println("Chat room pair keys backfilled: " + keyed + " keyed, " + duplicates + " duplicates");
     }
     
     /**
@@ -64,53 +177,182 @@ public class ChatService {
         );
         message.setAttachmentUrl(request.getAttachmentUrl());
         final Message savedMessage = messageRepository.save(message);
+        updateRoomSummaries(List.of(savedMessage));
+        eventPublisher.publishEvent(new MessagesStoredEvent(this, List.of(savedMessage)));
         
-        // Update chat room's last message time
-        chatRoomRepository.findById(chatRoomId).ifPresent(chatRoom -> {
-            chatRoom.setLastMessageAt(LocalDateTime.now());
-            chatRoomRepository.save(chatRoom);
-        });
+        return publishMessage(savedMessage);
+    }
+    
+    /**
+     * Insert a batch of messages with one ordered insertMany, without the follow-up work (see recordStored).
+     * On failure the messages before the failing one are already stored.
+     */
+    public void insertMessages(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        mongoTemplate.insertAll(messages);
+    }
+    
+    /**
+     * Insert a single message without the follow-up work; a DuplicateKeyException means it is already stored
+     */
+    public void insertMessage(Message message) {
+        mongoTemplate.insert(message);
+    }
+    
+    /**
+     * Follow-up work for messages now in the collection: room summaries and MessagesStoredEvent.
+     * Messages must be in send order.
+     */
+    public void recordStored(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        updateRoomSummaries(messages);
+        eventPublisher.publishEvent(new MessagesStoredEvent(this, messages));
+    }
+    
+    /**
+     * Point each room's inbox summary at its newest message and bump the receivers' unread counters,
+     * one write per room. Messages must be in send order.
+     */
+    private void updateRoomSummaries(List<Message> messages) {
+        Map<String, Message> latestByRoom = new LinkedHashMap<>();
+        Map<String, Map<String, Integer>> unreadByRoom = new HashMap<>();
+        for (Message message : messages) {
+            latestByRoom.put(message.getChatRoomId(), message);
+            unreadByRoom.computeIfAbsent(message.getChatRoomId(), id -> new HashMap<>())
+                    .merge(message.getReceiverId(), 1, Integer::sum);
+        }
         
+        for (Message latest : latestByRoom.values()) {
+            Update update = new Update()
+                    .set("lastMessageAt", latest.getTimestamp())
+                    .set("lastMessageId", latest.getId())
+                    .set("lastMessage", preview(latest.getContent()))
+                    .set("lastMessageSenderId", latest.getSenderId())
+                    .set("lastMessageStatus", latest.getStatus());
+            unreadByRoom.get(latest.getChatRoomId())
+                    .forEach((receiverId, count) -> update.inc("unreadCounts." + receiverId, count));
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(latest.getChatRoomId())),
+                    update,
+                    ChatRoom.class
+            );
+        }
+    }
+    
+    /**
+     * Push a stored message to the room topic and the receiver's queue,
+     * and raise the MessageReceivedEvent for the notification system
+     */
+    public MessageDTO publishMessage(Message message) {
         // Convert to DTO with user details
-        MessageDTO messageDTO = convertToMessageDTO(savedMessage);
+        MessageDTO messageDTO = convertToMessageDTO(message);
         
         // Send real-time notification via WebSocket
         messagingTemplate.convertAndSend(
-                "/topic/messages/" + chatRoomId,
+                "/topic/messages/" + message.getChatRoomId(),
                 messageDTO
         );
         
-        // Also notify receiver about new conversation
-        messagingTemplate.convertAndSendToUser(
-                request.getReceiverId(),
-                "/queue/notifications",
-                messageDTO
-        );
+        // Also notify the receiver unless the room frame already reached them; held if they are offline
+        if (!presenceService.isWatching(message.getReceiverId(), "/topic/messages/" + message.getChatRoomId())) {
+            presenceService.push(message.getReceiverId(), "/queue/notifications", messageDTO);
+        }
         
         // Publish MessageReceivedEvent for notification system
-        userRepository.findById(senderId).ifPresent(sender -> {
-            String messagePreview = request.getContent().length() > 50 
-                ? request.getContent().substring(0, 50) + "..." 
-                : request.getContent();
+        UserSummary sender = userSummaryCache.get(message.getSenderId());
+        if (sender != null && message.getContent() != null) {
+            String messagePreview = message.getContent().length() > 50 
+                ? message.getContent().substring(0, 50) + "..." 
+                : message.getContent();
                 
             eventPublisher.publishEvent(new MessageReceivedEvent(
                 this,
-                request.getReceiverId(),
-                senderId,
+                message.getReceiverId(),
+                message.getSenderId(),
                 sender.getName(),
-                savedMessage.getId(),
+                message.getId(),
                 messagePreview,
-                chatRoomId
+                message.getChatRoomId()
             ));
-        });
+        }
         
         return messageDTO;
     }
     
     /**
-     * Get all messages in a chat room
+     * Get the most recent messages in a chat room (default page, oldest first)
      */
     public List<MessageDTO> getChatRoomMessages(String chatRoomId, String userId) {
+        return getChatRoomMessagesPage(chatRoomId, userId, null, null, DEFAULT_PAGE_SIZE).getMessages();
+    }
+    
+    /**
+     * Search the user's own conversations; every word must match (the last as a prefix), newest first
+     */
+    public CursorPageDTO<MessageDTO> searchMessages(String userId, String text, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        List<MessageSearchEntry> entries = messageSearchService.findEntries(userId, text, Cursor.decode(cursor), limit + 1);
+        boolean hasMore = entries.size() > limit;
+        if (hasMore) {
+            entries = entries.subList(0, limit);
+        }
+        
+        List<String> messageIds = new ArrayList<>(entries.size());
+        for (MessageSearchEntry entry : entries) {
+            messageIds.add(entry.getMessageId());
+        }
+        Map<String, Message> messagesById = new HashMap<>();
+        for (Message message : mongoTemplate.find(new Query(Criteria.where("_id").in(messageIds)), Message.class)) {
+            messagesById.put(message.getId(), message);
+        }
+        
+        // Hits missing from messages have been archived; the entry locates the weekly block
+        Set<String> archivedIds = new HashSet<>();
+        Set<String> blockIds = new HashSet<>();
+        for (MessageSearchEntry entry : entries) {
+            if (!messagesById.containsKey(entry.getMessageId())) {
+                archivedIds.add(entry.getMessageId());
+                blockIds.add(MessageArchive.blockId(entry.getChatRoomId(), entry.getTimestamp()));
+            }
+        }
+        messagesById.putAll(messageArchiveService.findArchived(blockIds, archivedIds));
+        List<Message> messages = new ArrayList<>(entries.size());
+        for (String messageId : messageIds) {
+            Message message = messagesById.get(messageId);
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            MessageSearchEntry last = entries.get(entries.size() - 1);
+            nextCursor = Cursor.of(last.getTimestamp(), last.getMessageId()).encode();
+        }
+        return new CursorPageDTO<>(convertToMessageDTOs(messages), nextCursor, hasMore);
+    }
+    
+    /**
+     * Keyset page of a chat room's history on (timestamp, _id).
+     * No cursor returns the latest messages; before/after walk older/newer from a cursor.
+     * Pages continue into the weekly archive blocks once they reach archived history.
+     */
+    public MessagePageDTO getChatRoomMessagesPage(String chatRoomId, String userId,
+                                                  String before, String after, int limit) {
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Use either before or after, not both");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
         // Verify user has access to this chat room
         ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
                 .orElseThrow(() -> new RuntimeException("Chat room not found"));
@@ -119,46 +361,121 @@ public class ChatService {
             throw new RuntimeException("Access denied to this chat room");
         }
         
-        List<Message> messages = messageRepository.findByChatRoomIdOrderByTimestampAsc(chatRoomId);
-        return messages.stream()
-                .map(this::convertToMessageDTO)
-                .collect(Collectors.toList());
+        Cursor beforeCursor = Cursor.decode(before);
+        Cursor afterCursor = Cursor.decode(after);
+        boolean forward = afterCursor != null;
+        
+        Criteria criteria = Criteria.where("chatRoomId").is(chatRoomId);
+        Cursor from = forward ? afterCursor : beforeCursor;
+        if (from != null) {
+            LocalDateTime timestamp = from.toLocalDateTime();
+            criteria = criteria.orOperator(
+                    forward ? Criteria.where("timestamp").gt(timestamp) : Criteria.where("timestamp").lt(timestamp),
+                    forward
+                            ? Criteria.where("timestamp").is(timestamp).and("_id").gt(from.getId())
+                            : Criteria.where("timestamp").is(timestamp).and("_id").lt(from.getId())
+            );
+        }
+        
+        Sort.Direction direction = forward ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Query query = new Query(criteria)
+                .with(Sort.by(direction, "timestamp", "_id"))
+                .limit(limit + 1);
+        List<Message> messages = new ArrayList<>(mongoTemplate.find(query, Message.class));
+        
+        // Archived messages are all older than the hot ones: needed when walking back runs out of hot
+        // messages, or when walking forward from a point inside the archived range
+        LocalDateTime archivedThrough = chatRoom.getArchivedThrough();
+        boolean readArchive = archivedThrough != null && (forward
+                ? !from.toLocalDateTime().isAfter(archivedThrough)
+                : messages.size() <= limit);
+        if (readArchive) {
+            messages = mergeTiers(messages, messageArchiveService.read(chatRoomId, from, forward, limit + 1),
+                    forward, limit + 1);
+        }
+        
+        boolean hasMore = messages.size() > limit;
+        if (hasMore) {
+            messages = messages.subList(0, limit);
+        }
+        if (!forward) {
+            Collections.reverse(messages);
+        }
+        
+        MessagePageDTO page = new MessagePageDTO();
+        page.setMessages(convertToMessageDTOs(messages));
+        if (messages.isEmpty()) {
+            // Nothing new in this direction; hand the same cursors back so clients can retry
+            page.setBeforeCursor(before);
+            page.setAfterCursor(after);
+        } else {
+            Message oldest = messages.get(0);
+            Message newest = messages.get(messages.size() - 1);
+            page.setBeforeCursor(Cursor.of(oldest.getTimestamp(), oldest.getId()).encode());
+            page.setAfterCursor(Cursor.of(newest.getTimestamp(), newest.getId()).encode());
+        }
+        page.setHasMoreBefore(forward ? afterCursor != null : hasMore);
+        page.setHasMoreAfter(forward ? hasMore : beforeCursor != null);
+        return page;
+    }
+    
+    /**
+     * Nearest max messages of both tiers in paging order. A message caught mid-archival can be in both; keep one.
+     */
+    private List<Message> mergeTiers(List<Message> hot, List<Message> archived, boolean forward, int max) {
+        Map<String, Message> byId = new LinkedHashMap<>();
+        for (Message message : archived) {
+            byId.put(message.getId(), message);
+        }
+        for (Message message : hot) {
+            byId.put(message.getId(), message);
+        }
+        List<Message> merged = new ArrayList<>(byId.values());
+        merged.sort(forward ? Message.HISTORY_ORDER : Message.HISTORY_ORDER.reversed());
+        return merged.size() > max ? new ArrayList<>(merged.subList(0, max)) : merged;
     }
     
     /**
-     * Get all conversations for a user
+     * Get all conversations for a user.
+     * One indexed query for the rooms and one projected query for the other participants;
+     * rooms created before summaries existed are backfilled the first time they are listed.
      */
     public List<ChatConversationDTO> getUserConversations(String userId) {
-        List<ChatRoom> chatRooms = chatRoomRepository.findByUserId(userId);
-        List<ChatConversationDTO> conversations = new ArrayList<>();
+        Query roomsQuery = new Query(new Criteria().orOperator(
+                Criteria.where("user1Id").is(userId),
+                Criteria.where("user2Id").is(userId)
+        )).with(Sort.by(Sort.Direction.DESC, "lastMessageAt"));
+        List<ChatRoom> chatRooms = mongoTemplate.find(roomsQuery, ChatRoom.class);
+        
+        Set<String> otherUserIds = new HashSet<>();
+        for (ChatRoom chatRoom : chatRooms) {
+            if (!Boolean.TRUE.equals(chatRoom.getSummarized())) {
+                backfillSummary(chatRoom);
+            }
+            otherUserIds.add(chatRoom.getOtherUserId(userId));
+        }
+        Map<String, UserSummary> otherUsers = userSummaryCache.getAll(otherUserIds);
         
+        List<ChatConversationDTO> conversations = new ArrayList<>();
         for (ChatRoom chatRoom : chatRooms) {
-            String otherUserId = chatRoom.getOtherUserId(userId);
-            User otherUser = userRepository.findById(otherUserId).orElse(null);
+            UserSummary otherUser = otherUsers.get(chatRoom.getOtherUserId(userId));
             
             if (otherUser == null) continue;
             
-            Message lastMessage = messageRepository.findTopByChatRoomIdOrderByTimestampDesc(chatRoom.getId());
-            long unreadCount = messageRepository.countByChatRoomIdAndReceiverIdAndStatusNot(
-                    chatRoom.getId(), 
-                    userId, 
-                    Message.MessageStatus.READ
-            );
-            
             ChatConversationDTO dto = new ChatConversationDTO();
             dto.setChatRoomId(chatRoom.getId());
             dto.setOtherUserId(otherUser.getId());
             dto.setOtherUserName(otherUser.getName());
             dto.setOtherUserPhotoUrl(otherUser.getPhotoUrl());
             
-            if (lastMessage != null) {
-                dto.setLastMessage(lastMessage.getContent());
-                dto.setLastMessageTime(lastMessage.getTimestamp());
-                dto.setLastMessageStatus(lastMessage.getStatus());
-                dto.setLastMessageFromMe(lastMessage.getSenderId().equals(userId));
+            if (chatRoom.getLastMessageId() != null) {
+                dto.setLastMessage(chatRoom.getLastMessage());
+                dto.setLastMessageTime(chatRoom.getLastMessageAt());
+                dto.setLastMessageStatus(chatRoom.getLastMessageStatus());
+                dto.setLastMessageFromMe(userId.equals(chatRoom.getLastMessageSenderId()));
             }
             
-            dto.setUnreadCount(unreadCount);
+            dto.setUnreadCount(chatRoom.getUnreadCount(userId));
             conversations.add(dto);
         }
         
@@ -169,30 +486,73 @@ public class ChatService {
         return conversations;
     }
     
+    /**
+     * Build the inbox summary of a room created before summaries existed
+     */
+    private void backfillSummary(ChatRoom chatRoom) {
+        Message lastMessage = messageRepository.findTopByChatRoomIdOrderByTimestampDesc(chatRoom.getId());
+        Map<String, Long> unreadCounts = new HashMap<>();
+        for (String participant : List.of(chatRoom.getUser1Id(), chatRoom.getUser2Id())) {
+            unreadCounts.put(participant, messageRepository.countByChatRoomIdAndReceiverIdAndStatusNot(
+                    chatRoom.getId(), participant, Message.MessageStatus.READ));
+        }
+        
+        Update update = new Update().set("unreadCounts", unreadCounts).set("summarized", true);
+        if (lastMessage != null) {
+            chatRoom.setLastMessageAt(lastMessage.getTimestamp());
+            chatRoom.setLastMessageId(lastMessage.getId());
+            chatRoom.setLastMessage(preview(lastMessage.getContent()));
+            chatRoom.setLastMessageSenderId(lastMessage.getSenderId());
+            chatRoom.setLastMessageStatus(lastMessage.getStatus());
+            update.set("lastMessageAt", chatRoom.getLastMessageAt())
+                    .set("lastMessageId", chatRoom.getLastMessageId())
+                    .set("lastMessage", chatRoom.getLastMessage())
+                    .set("lastMessageSenderId", chatRoom.getLastMessageSenderId())
+                    .set("lastMessageStatus", chatRoom.getLastMessageStatus());
+        }
+        chatRoom.setUnreadCounts(unreadCounts);
+        chatRoom.setSummarized(true);
+        
+        // Only the first backfill wins if two inbox loads race
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(chatRoom.getId()).and("summarized").ne(true)),
+                update,
+                ChatRoom.class
+        );
+    }
+    
+    /**
+     * Message content cut to PREVIEW_LENGTH characters for the room's inbox summary
+     */
+    private String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        return content.substring(0, PREVIEW_LENGTH);
+    }
+    
     /**
      * Mark messages as read
      */
     @Transactional
     public void markMessagesAsRead(String chatRoomId, String userId) {
-        List<Message> unreadMessages = messageRepository.findByChatRoomIdAndReceiverIdAndStatus(
-                chatRoomId, 
-                userId, 
-                Message.MessageStatus.DELIVERED
+        // Reset this participant's unread counter, and mark the preview read if it was sent to them
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(chatRoomId)),
+                new Update().set("unreadCounts." + userId, 0L),
+                ChatRoom.class
+        );
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(chatRoomId)
+                        .and("lastMessageSenderId").ne(userId)
+                        .and("lastMessageStatus").ne(Message.MessageStatus.READ)),
+                new Update().set("lastMessageStatus", Message.MessageStatus.READ),
+                ChatRoom.class
         );
         
-        if (!unreadMessages.isEmpty()) {
-            unreadMessages.forEach(msg -> msg.setStatus(Message.MessageStatus.READ));
-            messageRepository.saveAll(unreadMessages);
-            
-            // Notify sender about read status
-            for (Message msg : unreadMessages) {
-                MessageDTO dto = convertToMessageDTO(msg);
-                messagingTemplate.convertAndSend(
-                        "/topic/messages/" + chatRoomId,
-                        dto
-                );
-            }
-        }
+        advanceStatus(chatRoomId, userId,
+                List.of(Message.MessageStatus.SENT, Message.MessageStatus.DELIVERED),
+                Message.MessageStatus.READ);
     }
     
     /**
@@ -200,31 +560,88 @@ public class ChatService {
      */
     @Transactional
     public void markMessagesAsDelivered(String chatRoomId, String userId) {
-        List<Message> sentMessages = messageRepository.findByChatRoomIdAndReceiverIdAndStatus(
-                chatRoomId, 
-                userId, 
-                Message.MessageStatus.SENT
-        );
+        long delivered = advanceStatus(chatRoomId, userId,
+                List.of(Message.MessageStatus.SENT),
+                Message.MessageStatus.DELIVERED);
         
-        if (!sentMessages.isEmpty()) {
-            sentMessages.forEach(msg -> msg.setStatus(Message.MessageStatus.DELIVERED));
-            messageRepository.saveAll(sentMessages);
-            
-            // Notify sender about delivery status
-            for (Message msg : sentMessages) {
-                MessageDTO dto = convertToMessageDTO(msg);
-                messagingTemplate.convertAndSend(
-                        "/topic/messages/" + chatRoomId,
-                        dto
-                );
+        if (delivered > 0) {
+            // Advance the preview status if the latest message was sent to this user
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(chatRoomId)
+                            .and("lastMessageSenderId").ne(userId)
+                            .and("lastMessageStatus").is(Message.MessageStatus.SENT)),
+                    new Update().set("lastMessageStatus", Message.MessageStatus.DELIVERED),
+                    ChatRoom.class
+            );
+        }
+    }
+    
+    /**
+     * Move every message sent to userId, up to the newest one still in a from status, to the target status
+     * with a single update, then tell the room with one receipt frame carrying that watermark.
+     * Messages arriving after the watermark is taken keep their status.
+     */
+    private long advanceStatus(String chatRoomId, String userId,
+                               List<Message.MessageStatus> from, Message.MessageStatus to) {
+        Message watermark = messageRepository.findTopByChatRoomIdAndReceiverIdAndStatusInOrderByTimestampDescIdDesc(
+                chatRoomId, userId, from);
+        if (watermark == null) {
+            return 0;
+        }
+        
+        Query query = new Query(Criteria.where("chatRoomId").is(chatRoomId)
+                .and("receiverId").is(userId)
+                .and("status").in(from)
+                .orOperator(
+                        Criteria.where("timestamp").lt(watermark.getTimestamp()),
+                        Criteria.where("timestamp").is(watermark.getTimestamp())
+                                .and("_id").lte(watermark.getId())));
+        long modified = mongoTemplate.updateMulti(query, new Update().set("status", to), Message.class)
+                .getModifiedCount();
+        
+        if (modified > 0) {
+            messagingTemplate.convertAndSend(
+                    "/topic/receipts/" + chatRoomId,
+                    new ReadReceiptDTO(chatRoomId, userId, to,
+                            watermark.getTimestamp(), watermark.getId(), modified)
+            );
+        }
+        return modified;
+    }
+    
+    /**
+     * Convert a page of messages, loading each participant once
+     */
+    private List<MessageDTO> convertToMessageDTOs(List<Message> messages) {
+        Set<String> userIds = new HashSet<>();
+        for (Message message : messages) {
+            userIds.add(message.getSenderId());
+            userIds.add(message.getReceiverId());
+        }
+        Map<String, UserSummary> users = userSummaryCache.getAll(userIds);
+        
+        List<MessageDTO> dtos = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            MessageDTO dto = toMessageDTO(message);
+            UserSummary sender = users.get(message.getSenderId());
+            if (sender != null) {
+                dto.setSenderName(sender.getName());
+                dto.setSenderPhotoUrl(sender.getPhotoUrl());
+            }
+            UserSummary receiver = users.get(message.getReceiverId());
+            if (receiver != null) {
+                dto.setReceiverName(receiver.getName());
+                dto.setReceiverPhotoUrl(receiver.getPhotoUrl());
             }
+            dtos.add(dto);
         }
+        return dtos;
     }
     
     /**
-     * Convert Message entity to MessageDTO with user details
+     * Copy the message fields (no user details)
      */
-    private MessageDTO convertToMessageDTO(Message message) {
+    private MessageDTO toMessageDTO(Message message) {
         MessageDTO dto = new MessageDTO();
         dto.setId(message.getId());
         dto.setChatRoomId(message.getChatRoomId());
@@ -234,18 +651,28 @@ public class ChatService {
         dto.setAttachmentUrl(message.getAttachmentUrl());
         dto.setTimestamp(message.getTimestamp());
         dto.setStatus(message.getStatus());
+        return dto;
+    }
+    
+    /**
+     * Convert Message entity to MessageDTO with user details
+     */
+    private MessageDTO convertToMessageDTO(Message message) {
+        MessageDTO dto = toMessageDTO(message);
         
         // Add sender details
-        userRepository.findById(message.getSenderId()).ifPresent(sender -> {
+        UserSummary sender = userSummaryCache.get(message.getSenderId());
+        if (sender != null) {
             dto.setSenderName(sender.getName());
             dto.setSenderPhotoUrl(sender.getPhotoUrl());
-        });
+        }
         
         // Add receiver details
-        userRepository.findById(message.getReceiverId()).ifPresent(receiver -> {
+        UserSummary receiver = userSummaryCache.get(message.getReceiverId());
+        if (receiver != null) {
             dto.setReceiverName(receiver.getName());
             dto.setReceiverPhotoUrl(receiver.getPhotoUrl());
-        });
+        }
         
         return dto;
     }
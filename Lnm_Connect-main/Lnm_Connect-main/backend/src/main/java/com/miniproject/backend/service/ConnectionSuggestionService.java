@@ -0,0 +1,176 @@
+package com.miniproject.backend.service;
+
+import com.miniproject.backend.cache.LruTtlCache;
+import com.miniproject.backend.dto.ConnectionSuggestionDTO;
+import com.miniproject.backend.model.Follow;
+import com.miniproject.backend.model.Follow.FollowStatus;
+import com.miniproject.backend.model.User;
+import com.miniproject.backend.repository.FollowRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * "People you may know": friend-of-friend suggestions from accepted follows.
+ * Walks two hops out (users you follow, then who they follow), capping the
+ * fan-out of every node, and ranks candidates by how many of the people you
+ * follow already follow them. Results are cached per user and dropped when
+ * that user's edges change.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConnectionSuggestionService {
+
+    private static final int MAX_FANOUT = 200;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MUTUAL_PREVIEW = 3;
+
+    private static final String[] SUGGESTION_USER_FIELDS = {
+        "name", "photoUrl", "education", "branchYear", "bio", "skills"
+    };
+
+    private final FollowRepository followRepository;
+    private final FollowGraph followGraph;
+    private final MongoTemplate mongoTemplate;
+
+    private final LruTtlCache<String, List<ConnectionSuggestionDTO>> cache =
+        new LruTtlCache<>(5000, 10, TimeUnit.MINUTES);
+
+    /**
+     * Top suggestions for a user, best first
+     */
+    public List<ConnectionSuggestionDTO> getSuggestions(String userId, int limit) {
+        List<ConnectionSuggestionDTO> suggestions = cache.getOrLoad(userId, this::computeSuggestions);
+        return suggestions.subList(0, Math.min(Math.max(limit, 0), suggestions.size()));
+    }
+
+    /**
+     * Drop cached suggestions for users whose edges changed
+     */
+    public void invalidate(String... userIds) {
+        for (String userId : userIds) {
+            cache.invalidate(userId);
+        }
+    }
+
+    private List<ConnectionSuggestionDTO> computeSuggestions(String userId) {
+        List<String> following = followingOf(userId);
+        if (following.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> firstHop = capped(following);
+
+        // Already followed or already requested users are not suggested
+        Set<String> excluded = new HashSet<>(following);
+        excluded.add(userId);
+        for (Follow pending : followRepository.findByFollowerIdAndStatusOrderByCreatedAtDesc(userId, FollowStatus.PENDING)) {
+            excluded.add(pending.getFollowingId());
+        }
+
+        // Count the 2-hop paths reaching each candidate
+        Map<String, Integer> pathCounts = new HashMap<>();
+        Map<String, List<String>> via = new HashMap<>();
+        Map<String, List<String>> secondHop = followingOf(firstHop);
+        for (String intermediary : firstHop) {
+            for (String candidate : capped(secondHop.getOrDefault(intermediary, List.of()))) {
+                if (excluded.contains(candidate)) {
+                    continue;
+                }
+                pathCounts.merge(candidate, 1, Integer::sum);
+                List<String> preview = via.computeIfAbsent(candidate, id -> new ArrayList<>(MUTUAL_PREVIEW));
+                if (preview.size() < MUTUAL_PREVIEW) {
+                    preview.add(intermediary);
+                }
+            }
+        }
+
+        List<String> ranked = pathCounts.entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()))
+            .limit(MAX_SUGGESTIONS)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+
+        Map<String, User> users = loadUsers(ranked);
+        List<ConnectionSuggestionDTO> suggestions = new ArrayList<>(ranked.size());
+        for (String candidateId : ranked) {
+            User user = users.get(candidateId);
+            if (user == null) {
+                continue;
+            }
+            suggestions.add(new ConnectionSuggestionDTO(
+                user.getId(), user.getName(), user.getPhotoUrl(), user.getEducation(),
+                user.getBranchYear(), user.getBio(), user.getSkills(),
+                pathCounts.get(candidateId), via.get(candidateId)
+            ));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Accepted following ids of one user
+     */
+    private List<String> followingOf(String userId) {
+        if (followGraph.isReady()) {
+            return followGraph.getFollowing(userId);
+        }
+        return followRepository.findByFollowerIdAndStatus(userId, FollowStatus.ACCEPTED).stream()
+            .map(Follow::getFollowingId)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Accepted following ids of several users (one $in query without the graph)
+     */
+    private Map<String, List<String>> followingOf(Collection<String> userIds) {
+        Map<String, List<String>> following = new HashMap<>();
+        if (followGraph.isReady()) {
+            for (String userId : userIds) {
+                following.put(userId, followGraph.getFollowing(userId));
+            }
+            return following;
+        }
+        for (Follow follow : followRepository.findByFollowerIdInAndStatus(userIds, FollowStatus.ACCEPTED)) {
+            following.computeIfAbsent(follow.getFollowerId(), id -> new ArrayList<>()).add(follow.getFollowingId());
+        }
+        return following;
+    }
+
+    /**
+     * Bound the fan-out of a single node; sorted so the cut is stable between runs
+     */
+    private List<String> capped(List<String> ids) {
+        if (ids.size() <= MAX_FANOUT) {
+            return ids;
+        }
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(Comparator.naturalOrder());
+        return sorted.subList(0, MAX_FANOUT);
+    }
+
+    private Map<String, User> loadUsers(Collection<String> userIds) {
+        Map<String, User> users = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return users;
+        }
+        Query query = new Query(Criteria.where("_id").in(userIds));
+        query.fields().include(SUGGESTION_USER_FIELDS);
+        for (User user : mongoTemplate.find(query, User.class)) {
+            users.put(user.getId(), user);
+        }
+        return users;
+    }
+}
@@ -0,0 +1,259 @@
+package com.miniproject.backend.service;
+
+import com.miniproject.backend.model.Follow;
+import com.miniproject.backend.model.Follow.FollowStatus;
+import com.miniproject.backend.util.IntSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory graph of ACCEPTED follow edges.
+ * User ids are interned to dense ints and each user keeps primitive
+ * outgoing (following) and incoming (followers) adjacency sets, so
+ * follower/following lookups, mutual counts and connection checks never hit Mongo.
+ * Rebuilt from the follows collection at startup and kept current by FollowChangedEvent.
+ */
+@Service
+@RequiredArgsConstructor
+public class FollowGraph {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Integer> indexById = new HashMap<>();
+    private List<String> idByIndex = new ArrayList<>();
+    private List<IntSet> following = new ArrayList<>();
+    private List<IntSet> followers = new ArrayList<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * True once the initial load has finished; callers fall back to Mongo until then
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reload every accepted edge from the follows collection
+     */
+    public void rebuild() {
+        Query query = new Query(Criteria.where("status").is(FollowStatus.ACCEPTED));
+        query.fields().include("followerId", "followingId");
+
+        lock.writeLock().lock();
+        try {
+            indexById = new HashMap<>();
+            idByIndex = new ArrayList<>();
+            following = new ArrayList<>();
+            followers = new ArrayList<>();
+
+            int edges = 0;
+            try (Stream<Follow> cursor = mongoTemplate.stream(query, Follow.class)) {
+                for (Follow follow : (Iterable<Follow>) cursor::iterator) {
+                    if (link(follow.getFollowerId(), follow.getFollowingId())) {
+                        edges++;
+                    }
+                }
+            }
+            ready = true;
+            System.out.println("Follow graph loaded: " + idByIndex.size() + " users, " + edges + " edges");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Record an accepted edge follower -> followingUser
+     */
+    public void addEdge(String followerId, String followingId) {
+        lock.writeLock().lock();
+        try {
+            link(followerId, followingId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the edge follower -> followingUser if present
+     */
+    public void removeEdge(String followerId, String followingId) {
+        lock.writeLock().lock();
+        try {
+            Integer from = indexById.get(followerId);
+            Integer to = indexById.get(followingId);
+            if (from != null && to != null) {
+                following.get(from).remove(to);
+                followers.get(to).remove(from);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether follower has an accepted edge to followingUser
+     */
+    public boolean isFollowing(String followerId, String followingId) {
+        lock.readLock().lock();
+        try {
+            Integer from = indexById.get(followerId);
+            Integer to = indexById.get(followingId);
+            return from != null && to != null && following.get(from).contains(to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether both users follow each other
+     */
+    public boolean isConnected(String userId1, String userId2) {
+        lock.readLock().lock();
+        try {
+            Integer a = indexById.get(userId1);
+            Integer b = indexById.get(userId2);
+            return a != null && b != null && following.get(a).contains(b) && following.get(b).contains(a);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of users this user follows
+     */
+    public List<String> getFollowing(String userId) {
+        return neighbours(userId, true);
+    }
+
+    /**
+     * Ids of users following this user
+     */
+    public List<String> getFollowers(String userId) {
+        return neighbours(userId, false);
+    }
+
+    public int followingCount(String userId) {
+        lock.readLock().lock();
+        try {
+            Integer index = indexById.get(userId);
+            return index == null ? 0 : following.get(index).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int followerCount(String userId) {
+        lock.readLock().lock();
+        try {
+            Integer index = indexById.get(userId);
+            return index == null ? 0 : followers.get(index).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of users this user follows who follow back
+     */
+    public int connectionCount(String userId) {
+        lock.readLock().lock();
+        try {
+            Integer index = indexById.get(userId);
+            return index == null ? 0 : following.get(index).intersectionSize(followers.get(index));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of users both users follow
+     */
+    public int mutualCount(String userId1, String userId2) {
+        lock.readLock().lock();
+        try {
+            Integer a = indexById.get(userId1);
+            Integer b = indexById.get(userId2);
+            if (a == null || b == null) {
+                return 0;
+            }
+            return following.get(a).intersectionSize(following.get(b));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mutual counts between one user and many others, under a single lock acquisition
+     */
+    public Map<String, Integer> mutualCounts(String userId, Collection<String> otherIds) {
+        Map<String, Integer> counts = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            Integer a = indexById.get(userId);
+            for (String otherId : otherIds) {
+                Integer b = indexById.get(otherId);
+                int count = (a == null || b == null) ? 0 : following.get(a).intersectionSize(following.get(b));
+                counts.put(otherId, count);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    private List<String> neighbours(String userId, boolean outgoing) {
+        lock.readLock().lock();
+        try {
+            Integer index = indexById.get(userId);
+            if (index == null) {
+                return new ArrayList<>();
+            }
+            IntSet set = outgoing ? following.get(index) : followers.get(index);
+            List<String> ids = new ArrayList<>(set.size());
+            set.forEach(other -> ids.add(idByIndex.get(other)));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add an edge; caller holds the write lock
+     */
+    private boolean link(String followerId, String followingId) {
+        if (followerId == null || followingId == null) {
+            return false;
+        }
+        int from = intern(followerId);
+        int to = intern(followingId);
+        following.get(from).add(to);
+        return followers.get(to).add(from);
+    }
+
+    private int intern(String userId) {
+        Integer index = indexById.get(userId);
+        if (index != null) {
+            return index;
+        }
+        int next = idByIndex.size();
+        indexById.put(userId, next);
+        idByIndex.add(userId);
+        following.add(new IntSet());
+        followers.add(new IntSet());
+        return next;
+    }
+}
@@ -1,14 +1,25 @@
 package com.miniproject.backend.service;
 
+import com.miniproject.backend.cache.UserSummary;
+import com.miniproject.backend.cache.UserSummaryCache;
+import com.miniproject.backend.dto.CursorPageDTO;
 import com.miniproject.backend.dto.FollowRequestDTO;
 import com.miniproject.backend.dto.FollowStatusDTO;
 import com.miniproject.backend.dto.UserConnectionDTO;
+import com.miniproject.backend.event.FollowChangedEvent;
 import com.miniproject.backend.model.Follow;
 import com.miniproject.backend.model.Follow.FollowStatus;
 import com.miniproject.backend.model.User;
+import com.miniproject.backend.model.UserStats;
 import com.miniproject.backend.repository.FollowRepository;
 import com.miniproject.backend.repository.UserRepository;
+import com.miniproject.backend.util.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +40,32 @@ public class FollowService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private FollowGraph followGraph;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private UserSummaryCache userSummaryCache;
+
+    // Largest page accepted by the cursor-paged follower/following lists
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Largest number of targets accepted by the batch status lookup
+    private static final int MAX_BATCH_STATUS = 100;
+
+    // Fields shown in follower/following/connection lists
+    private static final String[] CONNECTION_USER_FIELDS = {
+        "name", "email", "photoUrl", "education", "branchYear", "bio", "skills", "interests"
+    };
+
     /**
      * Send follow/connect request
      */
@@ -51,7 +88,9 @@ public class FollowService {
                 // Allow resending if previously rejected
                 existingFollow.setStatus(FollowStatus.PENDING);
                 existingFollow.setUpdatedAt(LocalDateTime.now());
-                return followRepository.save(existingFollow);
+                Follow resent = followRepository.save(existingFollow);
+                publishChange(resent, FollowChangedEvent.Action.REQUESTED, FollowStatus.REJECTED);
+                return resent;
             }
             throw new IllegalArgumentException("Follow relationship already exists");
         }
@@ -62,15 +101,17 @@ public class FollowService {
         // Create new follow (always PENDING for connection requests)
         Follow follow = new Follow(followerId, followingId, FollowStatus.PENDING);
         Follow savedFollow = followRepository.save(follow);
+        publishChange(savedFollow, FollowChangedEvent.Action.REQUESTED, null);
         
         // Create FOLLOW_REQUEST notification
-        userRepository.findById(followerId).ifPresent(follower -> {
+        UserSummary follower = userSummaryCache.get(followerId);
+        if (follower != null) {
             notificationService.createFollowRequestNotification(
                 followingId,
                 followerId,
                 follower.getName()
             );
-        });
+        }
         
         return savedFollow;
     }
@@ -99,15 +140,19 @@ public class FollowService {
         follow.setStatus(FollowStatus.ACCEPTED);
         follow.setUpdatedAt(LocalDateTime.now());
         Follow savedFollow = followRepository.save(follow);
+        publishChange(savedFollow, FollowChangedEvent.Action.ACCEPTED, FollowStatus.PENDING);
+        userStatsService.edgeAdded(follow.getFollowerId(), follow.getFollowingId(),
+            isAcceptedFollow(follow.getFollowingId(), follow.getFollowerId()));
         
         // Create NEW_FOLLOWER notification when request accepted
-        userRepository.findById(follow.getFollowerId()).ifPresent(follower -> {
+        UserSummary follower = userSummaryCache.get(follow.getFollowerId());
+        if (follower != null) {
             notificationService.createFollowerNotification(
                 follow.getFollowingId(),
                 follow.getFollowerId(),
                 follower.getName()
             );
-        });
+        }
         
         return savedFollow;
     }
@@ -129,9 +174,15 @@ public class FollowService {
             throw new IllegalArgumentException("Unauthorized to reject this request");
         }
 
+        FollowStatus previousStatus = follow.getStatus();
         follow.setStatus(FollowStatus.REJECTED);
         follow.setUpdatedAt(LocalDateTime.now());
         followRepository.save(follow);
+        publishChange(follow, FollowChangedEvent.Action.REJECTED, previousStatus);
+        if (previousStatus == FollowStatus.ACCEPTED) {
+            userStatsService.edgeRemoved(follow.getFollowerId(), follow.getFollowingId(),
+                isAcceptedFollow(follow.getFollowingId(), follow.getFollowerId()));
+        }
     }
 
     /**
@@ -139,7 +190,22 @@ public class FollowService {
      */
     @Transactional
     public void unfollowUser(String userId, String targetUserId) {
-        followRepository.deleteByFollowerIdAndFollowingId(userId, targetUserId);
+        followRepository.findByFollowerIdAndFollowingId(userId, targetUserId).ifPresent(follow -> {
+            followRepository.delete(follow);
+            publishChange(follow, FollowChangedEvent.Action.REMOVED, follow.getStatus());
+            if (follow.getStatus() == FollowStatus.ACCEPTED) {
+                userStatsService.edgeRemoved(userId, targetUserId, isAcceptedFollow(targetUserId, userId));
+            }
+        });
+    }
+
+    /**
+     * Let the follow graph and other listeners know an edge changed
+     */
+    private void publishChange(Follow follow, FollowChangedEvent.Action action, FollowStatus previousStatus) {
+        eventPublisher.publishEvent(new FollowChangedEvent(
+            this, follow.getFollowerId(), follow.getFollowingId(), action, previousStatus
+        ));
     }
 
     /**
@@ -168,8 +234,9 @@ public class FollowService {
         }
 
         // Get counts
-        status.setFollowersCount(followRepository.countByFollowingIdAndStatus(targetUserId, FollowStatus.ACCEPTED));
-        status.setFollowingCount(followRepository.countByFollowerIdAndStatus(targetUserId, FollowStatus.ACCEPTED));
+        UserStats stats = userStatsService.getStats(targetUserId);
+        status.setFollowersCount(stats.getFollowerCount());
+        status.setFollowingCount(stats.getFollowingCount());
         
         // Calculate mutual connections
         status.setMutualConnections(calculateMutualConnections(currentUserId, targetUserId));
@@ -177,6 +244,65 @@ public class FollowService {
         return status;
     }
 
+    /**
+     * Get follow status between the current user and many targets.
+     * Outgoing and incoming edges are resolved with one $in query each.
+     */
+    public Map<String, FollowStatusDTO> getFollowStatuses(String currentUserId, Collection<String> targetUserIds) {
+        if (targetUserIds == null) {
+            throw new IllegalArgumentException("Target user IDs are required");
+        }
+        Set<String> targets = targetUserIds.stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (targets.size() > MAX_BATCH_STATUS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_STATUS + " users per status request");
+        }
+
+        Map<String, FollowStatusDTO> statuses = new LinkedHashMap<>();
+        if (targets.isEmpty()) {
+            return statuses;
+        }
+
+        Map<String, Follow> outgoing = new HashMap<>();
+        for (Follow f : followRepository.findByFollowerIdAndFollowingIdIn(currentUserId, targets)) {
+            outgoing.put(f.getFollowingId(), f);
+        }
+        Map<String, Follow> incoming = new HashMap<>();
+        for (Follow f : followRepository.findByFollowerIdInAndFollowingId(targets, currentUserId)) {
+            incoming.put(f.getFollowerId(), f);
+        }
+        Map<String, UserStats> stats = userStatsService.getStats(targets);
+        Map<String, Integer> mutuals = calculateMutualConnections(currentUserId, targets);
+
+        for (String targetUserId : targets) {
+            FollowStatusDTO status = new FollowStatusDTO();
+
+            Follow f = outgoing.get(targetUserId);
+            if (f != null) {
+                status.setFollowId(f.getId());
+                status.setStatus(f.getStatus().toString());
+                status.setFollowing(f.getStatus() == FollowStatus.ACCEPTED);
+                status.setPending(f.getStatus() == FollowStatus.PENDING);
+            }
+
+            Follow in = incoming.get(targetUserId);
+            if (in != null) {
+                status.setIncomingFollowId(in.getId());
+                status.setFollower(in.getStatus() == FollowStatus.ACCEPTED);
+                status.setHasPendingRequest(in.getStatus() == FollowStatus.PENDING);
+            }
+
+            UserStats targetStats = stats.get(targetUserId);
+            status.setFollowersCount(targetStats.getFollowerCount());
+            status.setFollowingCount(targetStats.getFollowingCount());
+            status.setMutualConnections(mutuals.getOrDefault(targetUserId, 0));
+
+            statuses.put(targetUserId, status);
+        }
+        return statuses;
+    }
+
     /**
      * Get pending requests received by a user
      */
@@ -210,7 +336,14 @@ public class FollowService {
      */
     public List<UserConnectionDTO> getFollowers(String userId) {
         List<Follow> followers = followRepository.findByFollowingIdAndStatus(userId, FollowStatus.ACCEPTED);
-        return convertToUserConnectionDTOs(userId, followers, true);
+        return convertToUserConnectionDTOs(userId, followers, true, true);
+    }
+
+    /**
+     * Get one page of followers, newest first
+     */
+    public CursorPageDTO<UserConnectionDTO> getFollowersPage(String userId, String cursor, int limit, boolean withMutuals) {
+        return getConnectionPage(userId, cursor, limit, withMutuals, true);
     }
 
     /**
@@ -218,7 +351,53 @@ public class FollowService {
      */
     public List<UserConnectionDTO> getFollowing(String userId) {
         List<Follow> following = followRepository.findByFollowerIdAndStatus(userId, FollowStatus.ACCEPTED);
-        return convertToUserConnectionDTOs(userId, following, false);
+        return convertToUserConnectionDTOs(userId, following, false, true);
+    }
+
+    /**
+     * Get one page of following, newest first
+     */
+    public CursorPageDTO<UserConnectionDTO> getFollowingPage(String userId, String cursor, int limit, boolean withMutuals) {
+        return getConnectionPage(userId, cursor, limit, withMutuals, false);
+    }
+
+    /**
+     * Keyset page over accepted edges ordered by (createdAt, _id) descending.
+     * Mutual counts are computed for the page only, and only when asked for.
+     */
+    private CursorPageDTO<UserConnectionDTO> getConnectionPage(String userId, String cursor, int limit,
+                                                               boolean withMutuals, boolean isFollowers) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Criteria criteria = Criteria.where(isFollowers ? "followingId" : "followerId").is(userId)
+            .and("status").is(FollowStatus.ACCEPTED);
+        Cursor after = Cursor.decode(cursor);
+        if (after != null) {
+            LocalDateTime createdAt = after.toLocalDateTime();
+            criteria = criteria.orOperator(
+                Criteria.where("createdAt").lt(createdAt),
+                Criteria.where("createdAt").is(createdAt).and("_id").lt(after.getId())
+            );
+        }
+
+        Query query = new Query(criteria)
+            .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+            .limit(limit + 1);
+        List<Follow> follows = mongoTemplate.find(query, Follow.class);
+
+        boolean hasMore = follows.size() > limit;
+        if (hasMore) {
+            follows = follows.subList(0, limit);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            Follow last = follows.get(follows.size() - 1);
+            nextCursor = Cursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorPageDTO<>(convertToUserConnectionDTOs(userId, follows, isFollowers, withMutuals), nextCursor, hasMore);
     }
 
     /**
@@ -226,68 +405,152 @@ public class FollowService {
      */
     public List<UserConnectionDTO> getConnections(String userId) {
         List<Follow> following = followRepository.findByFollowerIdAndStatus(userId, FollowStatus.ACCEPTED);
-        List<UserConnectionDTO> connections = new ArrayList<>();
+        if (following.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        for (Follow follow : following) {
-            // Check if they also follow back
-            Optional<Follow> reverseFollow = followRepository.findByFollowerIdAndFollowingId(
-                follow.getFollowingId(), userId
-            );
-            
-            if (reverseFollow.isPresent() && reverseFollow.get().getStatus() == FollowStatus.ACCEPTED) {
-                Optional<User> userOpt = userRepository.findById(follow.getFollowingId());
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
-                    UserConnectionDTO dto = createUserConnectionDTO(userId, user, follow);
-                    dto.setConnected(true);
-                    connections.add(dto);
-                }
+        // Keep only the people who follow back, then load just those users
+        Set<String> followBack = findFollowBackIds(userId, targetIds(following, false));
+        List<Follow> connected = following.stream()
+            .filter(follow -> followBack.contains(follow.getFollowingId()))
+            .collect(Collectors.toList());
+        Set<String> connectedIds = targetIds(connected, false);
+
+        Map<String, User> users = loadUsers(connectedIds);
+        Map<String, Integer> mutuals = calculateMutualConnections(userId, connectedIds);
+
+        List<UserConnectionDTO> connections = new ArrayList<>();
+        for (Follow follow : connected) {
+            User user = users.get(follow.getFollowingId());
+            if (user != null) {
+                connections.add(createUserConnectionDTO(user, follow, mutuals.getOrDefault(user.getId(), 0), true));
             }
         }
-
         return connections;
     }
 
+    /**
+     * Count mutual connections without loading any user documents
+     */
+    public long countConnections(String userId) {
+        return userStatsService.getStats(userId).getConnectionCount();
+    }
+
     /**
      * Calculate mutual connections between two users
      */
     private int calculateMutualConnections(String userId1, String userId2) {
-        // Get accepted follows for both users
-        List<Follow> user1Following = followRepository.findByFollowerIdAndStatus(userId1, FollowStatus.ACCEPTED);
-        List<Follow> user2Following = followRepository.findByFollowerIdAndStatus(userId2, FollowStatus.ACCEPTED);
+        return calculateMutualConnections(userId1, Collections.singleton(userId2)).getOrDefault(userId2, 0);
+    }
+
+    /**
+     * Calculate mutual connections between one user and each of the others
+     */
+    private Map<String, Integer> calculateMutualConnections(String userId, Collection<String> otherIds) {
+        if (otherIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        if (followGraph.isReady()) {
+            return followGraph.mutualCounts(userId, otherIds);
+        }
 
-        // Extract user IDs
-        Set<String> user1Connections = user1Following.stream()
+        // One query for the user's following set, one $in query for everyone else's
+        Set<String> userFollowing = followRepository.findByFollowerIdAndStatus(userId, FollowStatus.ACCEPTED).stream()
             .map(Follow::getFollowingId)
             .collect(Collectors.toSet());
-        
-        Set<String> user2Connections = user2Following.stream()
-            .map(Follow::getFollowingId)
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (String otherId : otherIds) {
+            counts.put(otherId, 0);
+        }
+        for (Follow follow : followRepository.findByFollowerIdInAndStatus(otherIds, FollowStatus.ACCEPTED)) {
+            if (userFollowing.contains(follow.getFollowingId())) {
+                counts.merge(follow.getFollowerId(), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Whether followerId has an accepted follow to followingId
+     */
+    private boolean isAcceptedFollow(String followerId, String followingId) {
+        if (followGraph.isReady()) {
+            return followGraph.isFollowing(followerId, followingId);
+        }
+        Optional<Follow> follow = followRepository.findByFollowerIdAndFollowingId(followerId, followingId);
+        return follow.isPresent() && follow.get().getStatus() == FollowStatus.ACCEPTED;
+    }
+
+    /**
+     * Which of the candidates have an accepted follow to userId
+     */
+    private Set<String> findFollowBackIds(String userId, Collection<String> candidateIds) {
+        if (candidateIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        if (followGraph.isReady()) {
+            return candidateIds.stream()
+                .filter(candidateId -> followGraph.isFollowing(candidateId, userId))
+                .collect(Collectors.toSet());
+        }
+        return followRepository.findByFollowerIdInAndFollowingIdAndStatus(candidateIds, userId, FollowStatus.ACCEPTED)
+            .stream()
+            .map(Follow::getFollowerId)
             .collect(Collectors.toSet());
+    }
 
-        // Find intersection
-        user1Connections.retainAll(user2Connections);
-        return user1Connections.size();
+    /**
+     * Load the users shown in connection lists with one projected $in query
+     */
+    private Map<String, User> loadUsers(Collection<String> userIds) {
+        Map<String, User> users = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return users;
+        }
+        Query query = new Query(Criteria.where("_id").in(userIds));
+        query.fields().include(CONNECTION_USER_FIELDS);
+        for (User user : mongoTemplate.find(query, User.class)) {
+            users.put(user.getId(), user);
+        }
+        return users;
+    }
+
+    /**
+     * The other side of each follow: followers when isFollowers, otherwise the followed users
+     */
+    private Set<String> targetIds(List<Follow> follows, boolean isFollowers) {
+        return follows.stream()
+            .map(follow -> isFollowers ? follow.getFollowerId() : follow.getFollowingId())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
     /**
      * Convert Follow list to UserConnectionDTO list
      */
-    private List<UserConnectionDTO> convertToUserConnectionDTOs(String currentUserId, List<Follow> follows, boolean isFollowers) {
-        return follows.stream().map(follow -> {
+    private List<UserConnectionDTO> convertToUserConnectionDTOs(String currentUserId, List<Follow> follows,
+                                                                boolean isFollowers, boolean withMutuals) {
+        Set<String> ids = targetIds(follows, isFollowers);
+        Map<String, User> users = loadUsers(ids);
+        Map<String, Integer> mutuals = withMutuals ? calculateMutualConnections(currentUserId, ids) : new HashMap<>();
+        Set<String> followBack = findFollowBackIds(currentUserId, ids);
+
+        List<UserConnectionDTO> dtos = new ArrayList<>();
+        for (Follow follow : follows) {
             String targetUserId = isFollowers ? follow.getFollowerId() : follow.getFollowingId();
-            Optional<User> userOpt = userRepository.findById(targetUserId);
-            if (userOpt.isPresent()) {
-                return createUserConnectionDTO(currentUserId, userOpt.get(), follow);
+            User user = users.get(targetUserId);
+            if (user != null) {
+                dtos.add(createUserConnectionDTO(user, follow, mutuals.getOrDefault(targetUserId, 0),
+                    followBack.contains(targetUserId)));
             }
-            return null;
-        }).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+        return dtos;
     }
 
     /**
      * Create UserConnectionDTO from User
      */
-    private UserConnectionDTO createUserConnectionDTO(String currentUserId, User user, Follow follow) {
+    private UserConnectionDTO createUserConnectionDTO(User user, Follow follow, int mutualConnections, boolean isFollower) {
         UserConnectionDTO dto = new UserConnectionDTO();
         dto.setUserId(user.getId());
         dto.setName(user.getName());
@@ -299,29 +562,25 @@ public class FollowService {
         dto.setSkills(user.getSkills());
         dto.setInterests(user.getInterests());
         dto.setConnectionDate(follow.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-        dto.setMutualConnections(calculateMutualConnections(currentUserId, user.getId()));
+        dto.setMutualConnections(mutualConnections);
 
-        // Check bidirectional relationship
-        Optional<Follow> reverseFollow = followRepository.findByFollowerIdAndFollowingId(user.getId(), currentUserId);
+        // Bidirectional relationship
         dto.setFollowing(true);
-        dto.setFollower(reverseFollow.isPresent() && reverseFollow.get().getStatus() == FollowStatus.ACCEPTED);
+        dto.setFollower(isFollower);
         dto.setConnected(dto.isFollowing() && dto.isFollower());
 
         return dto;
     }
 
     /**
-     * Get follower and following counts
+     * Get follower and following counts (single user_stats read)
      */
     public Map<String, Long> getUserCounts(String userId) {
+        UserStats stats = userStatsService.getStats(userId);
         Map<String, Long> counts = new HashMap<>();
-        counts.put("followers", followRepository.countByFollowingIdAndStatus(userId, FollowStatus.ACCEPTED));
-        counts.put("following", followRepository.countByFollowerIdAndStatus(userId, FollowStatus.ACCEPTED));
-        
-        // Count mutual connections
-        long mutualCount = getConnections(userId).size();
-        counts.put("connections", mutualCount);
-        
+        counts.put("followers", stats.getFollowerCount());
+        counts.put("following", stats.getFollowingCount());
+        counts.put("connections", stats.getConnectionCount());
         return counts;
     }
 }
@@ -0,0 +1,283 @@
+package com.miniproject.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miniproject.backend.model.ChatRoom;
+import com.miniproject.backend.model.Message;
+import com.miniproject.backend.model.MessageArchive;
+import com.miniproject.backend.util.Cursor;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold tier of chat history.
+ * Whole weeks older than max-age-days are moved out of messages into one compressed MessageArchive
+ * per room per week, so the messages collection and its indexes only hold recent traffic.
+ * Each batch is written to the archive before it is deleted, and blocks merge by message id,
+ * so an interrupted run is simply repeated; readers drop the duplicates seen in between.
+ * Runs take long, so they happen on their own thread rather than holding up the shared scheduler.
+ */
+@Service
+public class MessageArchiveService {
+
+    private static final TypeReference<List<Message>> MESSAGE_LIST = new TypeReference<>() {};
+
+    // Blocks can be large; fetch a few at a time while walking history
+    private static final int BLOCK_FETCH_SIZE = 4;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${chat.archive.max-age-days:90}")
+    private int maxAgeDays;
+
+    @Value("${chat.archive.batch-size:5000}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService archiver = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "message-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Start an archival run on the archiver thread, unless the previous one is still going
+     */
+    @Scheduled(initialDelayString = "${chat.archive.interval-ms:21600000}",
+               fixedDelayString = "${chat.archive.interval-ms:21600000}")
+    public void scheduleArchival() {
+        if (running.compareAndSet(false, true)) {
+            archiver.execute(() -> {
+                try {
+                    archiveOldMessages();
+                } finally {
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        archiver.shutdownNow();
+    }
+
+    /**
+     * Move every message in a week that ended more than max-age-days ago into the archive
+     */
+    public void archiveOldMessages() {
+        try {
+            LocalDateTime cutoff = MessageArchive.weekStart(LocalDateTime.now().minusDays(maxAgeDays));
+
+            // Rooms created since the cutoff cannot hold anything to archive, and rooms archived up to it
+            // cannot gain older messages
+            Query roomsQuery = new Query(new Criteria().andOperator(
+                    Criteria.where("createdAt").lt(cutoff),
+                    new Criteria().orOperator(
+                            Criteria.where("archivedBefore").exists(false),
+                            Criteria.where("archivedBefore").lt(cutoff)
+                    )
+            ));
+            roomsQuery.fields().include("_id");
+            List<ChatRoom> rooms = mongoTemplate.find(roomsQuery, ChatRoom.class);
+
+            long archived = 0;
+            for (ChatRoom room : rooms) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                archived += archiveRoom(room.getId(), cutoff);
+            }
+            System.out.println("Archived " + archived + " chat messages older than " + cutoff
+                    + " from " + rooms.size() + " rooms");
+        } catch (Exception e) {
+            System.err.println("Chat message archival failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Up to limit archived messages of a room strictly older (backward) or newer (forward) than from,
+     * nearest first. No cursor starts from the newest archived message.
+     */
+    public List<Message> read(String chatRoomId, Cursor from, boolean forward, int limit) {
+        Criteria criteria = Criteria.where("chatRoomId").is(chatRoomId);
+        if (from != null) {
+            LocalDateTime week = MessageArchive.weekStart(from.toLocalDateTime());
+            criteria = forward ? criteria.and("weekStart").gte(week) : criteria.and("weekStart").lte(week);
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(forward ? Sort.Direction.ASC : Sort.Direction.DESC, "weekStart"))
+                .cursorBatchSize(BLOCK_FETCH_SIZE);
+
+        List<Message> result = new ArrayList<>(limit);
+        try (Stream<MessageArchive> blocks = mongoTemplate.stream(query, MessageArchive.class)) {
+            for (MessageArchive block : (Iterable<MessageArchive>) blocks::iterator) {
+                List<Message> messages = decode(block.getData());
+                if (!forward) {
+                    Collections.reverse(messages);
+                }
+                for (Message message : messages) {
+                    if (from == null || (forward ? compare(message, from) > 0 : compare(message, from) < 0)) {
+                        result.add(message);
+                        if (result.size() == limit) {
+                            return result;
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Archived messages by id, reading only the given blocks
+     */
+    public Map<String, Message> findArchived(Collection<String> blockIds, Set<String> messageIds) {
+        Map<String, Message> found = new HashMap<>();
+        if (blockIds.isEmpty()) {
+            return found;
+        }
+        for (MessageArchive block : mongoTemplate.find(new Query(Criteria.where("_id").in(blockIds)), MessageArchive.class)) {
+            for (Message message : decode(block.getData())) {
+                if (messageIds.contains(message.getId())) {
+                    found.put(message.getId(), message);
+                }
+            }
+        }
+        return found;
+    }
+
+    private long archiveRoom(String chatRoomId, LocalDateTime cutoff) {
+        long archived = 0;
+        while (true) {
+            Query query = new Query(Criteria.where("chatRoomId").is(chatRoomId).and("timestamp").lt(cutoff))
+                    .with(Sort.by(Sort.Direction.ASC, "timestamp", "_id"))
+                    .limit(batchSize);
+            List<Message> batch = mongoTemplate.find(query, Message.class);
+            if (batch.isEmpty()) {
+                markArchivedBefore(chatRoomId, cutoff);
+                return archived;
+            }
+
+            Map<LocalDateTime, List<Message>> byWeek = new TreeMap<>();
+            List<String> ids = new ArrayList<>(batch.size());
+            for (Message message : batch) {
+                byWeek.computeIfAbsent(MessageArchive.weekStart(message.getTimestamp()), week -> new ArrayList<>())
+                        .add(message);
+                ids.add(message.getId());
+            }
+            byWeek.forEach((week, messages) -> mergeIntoBlock(chatRoomId, week, messages));
+
+            // Readers look in the archive up to this point; only then drop the hot copies
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(chatRoomId)),
+                    new Update().max("archivedThrough", batch.get(batch.size() - 1).getTimestamp()),
+                    ChatRoom.class
+            );
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), Message.class);
+
+            archived += batch.size();
+            if (batch.size() < batchSize) {
+                markArchivedBefore(chatRoomId, cutoff);
+                return archived;
+            }
+        }
+    }
+
+    private void markArchivedBefore(String chatRoomId, LocalDateTime cutoff) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(chatRoomId)),
+                new Update().max("archivedBefore", cutoff),
+                ChatRoom.class
+        );
+    }
+
+    private void mergeIntoBlock(String chatRoomId, LocalDateTime week, List<Message> messages) {
+        String blockId = MessageArchive.blockId(chatRoomId, week);
+        Map<String, Message> byId = new LinkedHashMap<>();
+        MessageArchive existing = mongoTemplate.findById(blockId, MessageArchive.class);
+        if (existing != null) {
+            for (Message message : decode(existing.getData())) {
+                byId.put(message.getId(), message);
+            }
+        }
+        for (Message message : messages) {
+            byId.put(message.getId(), message);
+        }
+        List<Message> merged = new ArrayList<>(byId.values());
+        merged.sort(Message.HISTORY_ORDER);
+
+        mongoTemplate.save(new MessageArchive(
+                blockId,
+                chatRoomId,
+                week,
+                merged.get(0).getTimestamp(),
+                merged.get(merged.size() - 1).getTimestamp(),
+                merged.size(),
+                encode(merged),
+                LocalDateTime.now()
+        ));
+    }
+
+    /**
+     * Position of a message relative to a cursor, in history order
+     */
+    private int compare(Message message, Cursor cursor) {
+        long millis = Cursor.of(message.getTimestamp(), message.getId()).getEpochMillis();
+        int byTime = Long.compare(millis, cursor.getEpochMillis());
+        return byTime != 0 ? byTime : message.getId().compareTo(cursor.getId());
+    }
+
+    private byte[] encode(List<Message> messages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, messages);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress archive block", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<Message> decode(byte[] data) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new ArrayList<>(objectMapper.readValue(in, MESSAGE_LIST));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive block", e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.miniproject.backend.service;
+
+import com.miniproject.backend.model.Message;
+import com.miniproject.backend.model.MessageSearchEntry;
+import com.miniproject.backend.util.Cursor;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Word index over chat message content, kept per participant in message_search.
+ * Stored messages are indexed on a single background worker, off the send path; a search
+ * matches every query word (the last one as a prefix) within the user's own entries, newest first.
+ */
+@Service
+public class MessageSearchService {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERMS_PER_MESSAGE = 100;
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int BACKFILL_BATCH = 500;
+    private static final int PENDING_BATCHES = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    // One worker keeps indexing ordered and off request threads; a full queue drops rather than blocks senders
+    private final ThreadPoolExecutor indexer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(PENDING_BATCHES),
+            r -> new Thread(r, "message-indexer"),
+            (task, executor) -> dropped.incrementAndGet());
+
+    /**
+     * Queue stored messages for indexing
+     */
+    public void indexAsync(List<Message> messages) {
+        indexer.execute(() -> {
+            try {
+                index(messages);
+            } catch (Exception e) {
+                System.err.println("Failed to index " + messages.size() + " chat messages: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Index messages stored since the newest indexed one (all of them on first run), on the indexing worker.
+     * Batches dropped while the queue was full are only recovered if they are newer than that point.
+     */
+    public void backfillAsync() {
+        indexer.execute(() -> {
+            try {
+                backfill();
+            } catch (Exception e) {
+                System.err.println("Failed to backfill the message search index: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * One page of the user's entries matching every word of the query, newest first
+     */
+    public List<MessageSearchEntry> findEntries(String userId, String text, Cursor after, int limit) {
+        List<String> words = tokenize(text, MAX_QUERY_TERMS);
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Every word must match exactly except the last, which may still be being typed.
+        // Words are letters and digits only, so the prefix needs no escaping and stays an index range.
+        String last = words.get(words.size() - 1);
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (words.size() > 1) {
+            criteria = criteria.and("terms").all(words.subList(0, words.size() - 1))
+                    .regex("^" + last);
+        } else {
+            criteria = criteria.and("terms").regex("^" + last);
+        }
+        if (after != null) {
+            LocalDateTime timestamp = after.toLocalDateTime();
+            criteria = criteria.orOperator(
+                    Criteria.where("timestamp").lt(timestamp),
+                    Criteria.where("timestamp").is(timestamp).and("messageId").lt(after.getId())
+            );
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "timestamp", "messageId"))
+                .limit(limit);
+        return mongoTemplate.find(query, MessageSearchEntry.class);
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        indexer.shutdown();
+        indexer.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void backfill() {
+        // Message ids increase with insertion, so resume from the newest indexed id on the _id index
+        Query latestQuery = new Query().with(Sort.by(Sort.Direction.DESC, "messageId")).limit(1);
+        MessageSearchEntry latest = mongoTemplate.findOne(latestQuery, MessageSearchEntry.class);
+
+        Query query = new Query();
+        if (latest != null) {
+            query.addCriteria(Criteria.where("_id").gte(latest.getMessageId()));
+        }
+        query.fields().include("chatRoomId", "senderId", "receiverId", "content", "timestamp");
+
+        int indexed = 0;
+        List<Message> batch = new ArrayList<>(BACKFILL_BATCH);
+        try (Stream<Message> messages = mongoTemplate.stream(query, Message.class)) {
+            for (Message message : (Iterable<Message>) messages::iterator) {
+                batch.add(message);
+                if (batch.size() == BACKFILL_BATCH) {
+                    index(batch);
+                    indexed += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        index(batch);
+        indexed += batch.size();
+        System.out.println("Message search backfill indexed " + indexed + " messages");
+    }
+
+    private void index(List<Message> messages) {
+        List<MessageSearchEntry> entries = new ArrayList<>(messages.size() * 2);
+        for (Message message : messages) {
+            List<String> terms = tokenize(message.getContent(), MAX_TERMS_PER_MESSAGE);
+            if (terms.isEmpty()) {
+                continue;
+            }
+            for (String userId : List.of(message.getSenderId(), message.getReceiverId())) {
+                entries.add(new MessageSearchEntry(message.getId() + ":" + userId, userId, message.getId(),
+                        message.getChatRoomId(), terms, message.getTimestamp()));
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        // Upserts keyed by _id, so backfill overlap and redelivered batches are harmless
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MessageSearchEntry.class);
+        for (MessageSearchEntry entry : entries) {
+            bulk.replaceOne(new Query(Criteria.where("_id").is(entry.getId())), entry,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Lower-cased distinct words of at least MIN_TERM_LENGTH characters, in order of appearance
+     */
+    private List<String> tokenize(String text, int maxTerms) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return new ArrayList<>();
+        }
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.length() >= MIN_TERM_LENGTH) {
+                terms.add(word);
+                if (terms.size() == maxTerms) {
+                    break;
+                }
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+}
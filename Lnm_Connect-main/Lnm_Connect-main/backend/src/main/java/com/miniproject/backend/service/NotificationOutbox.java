@@ -0,0 +1,178 @@
+package com.miniproject.backend.service;
+
+import com.miniproject.backend.model.Notification;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user buffer in front of /queue/notifications.
+ * A user's first pending notification starts a flush-interval-ms timer; the batch goes out as one
+ * frame (a JSON array) when the timer fires or max-batch notifications are waiting, whichever is first.
+ * Versions of the same coalesced notification within a batch collapse to the newest.
+ */
+@Service
+public class NotificationOutbox {
+
+    private static final String DESTINATION = "/queue/notifications";
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Value("${notifications.outbox.flush-interval-ms:250}")
+    private long flushIntervalMs;
+
+    @Value("${notifications.outbox.max-batch:50}")
+    private int maxBatch;
+
+    private final Map<String, Batch> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "notification-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failedFrames = new AtomicLong();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+    private final AtomicLong totalFlushDelayMs = new AtomicLong();
+    private final AtomicLong maxFlushDelayMs = new AtomicLong();
+
+    // Totals at the last summary log line, and maxima since then
+    private long loggedFrames;
+    private long loggedDelivered;
+    private final AtomicLong intervalMaxBatchSize = new AtomicLong();
+    private final AtomicLong intervalMaxFlushDelayMs = new AtomicLong();
+
+    /**
+     * Queue a notification for its receiver's next frame
+     */
+    public void enqueue(Notification notification) {
+        enqueued.incrementAndGet();
+        String userId = notification.getReceiverId();
+        Batch[] full = new Batch[1];
+        pending.compute(userId, (id, batch) -> {
+            if (batch == null) {
+                Batch created = new Batch();
+                flusher.schedule(() -> flush(userId, created), flushIntervalMs, TimeUnit.MILLISECONDS);
+                batch = created;
+            }
+            batch.notifications.add(notification);
+            if (batch.notifications.size() >= maxBatch) {
+                full[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+        if (full[0] != null) {
+            send(userId, full[0]);
+        }
+    }
+
+    /**
+     * Frame counters since startup
+     */
+    public Map<String, Long> getStats() {
+        long sent = frames.get();
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("enqueued", enqueued.get());
+        stats.put("frames", sent);
+        stats.put("delivered", delivered.get());
+        stats.put("failedFrames", failedFrames.get());
+        stats.put("pendingUsers", (long) pending.size());
+        stats.put("avgBatchSize", sent == 0 ? 0 : delivered.get() / sent);
+        stats.put("maxBatchSize", maxBatchSize.get());
+        stats.put("avgFlushDelayMs", sent == 0 ? 0 : totalFlushDelayMs.get() / sent);
+        stats.put("maxFlushDelayMs", maxFlushDelayMs.get());
+        return stats;
+    }
+
+    /**
+     * One key=value summary line per minute with traffic, instead of log lines per notification.
+     * Every figure covers the minute since the previous line.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void logSummary() {
+        long sent = frames.get();
+        long notifications = delivered.get();
+        if (sent == loggedFrames) {
+            return;
+        }
+        long intervalFrames = sent - loggedFrames;
+        long intervalNotifications = notifications - loggedDelivered;
+        loggedFrames = sent;
+        loggedDelivered = notifications;
+        System.out.println("notification-outbox frames=" + intervalFrames
+                + " notifications=" + intervalNotifications
+                + " avgBatch=" + (intervalNotifications / intervalFrames)
+                + " maxBatch=" + intervalMaxBatchSize.getAndSet(0)
+                + " maxFlushDelayMs=" + intervalMaxFlushDelayMs.getAndSet(0)
+                + " pendingUsers=" + pending.size()
+                + " failedFramesTotal=" + failedFrames.get());
+    }
+
+    /**
+     * Deliver everything still buffered before shutting down
+     */
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        for (Map.Entry<String, Batch> entry : new ArrayList<>(pending.entrySet())) {
+            flush(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Send the batch if it is still the user's pending one; a batch that filled up was already sent,
+     * and its timer must not cut the next batch short
+     */
+    private void flush(String userId, Batch batch) {
+        if (pending.remove(userId, batch)) {
+            send(userId, batch);
+        }
+    }
+
+    private void send(String userId, Batch batch) {
+        // A coalesced notification updated several times in the window goes out once, newest version
+        Map<String, Notification> latest = new LinkedHashMap<>();
+        for (Notification notification : batch.notifications) {
+            latest.remove(notification.getId());
+            latest.put(notification.getId(), notification);
+        }
+        List<Notification> frame = new ArrayList<>(latest.values());
+
+        long delay = System.currentTimeMillis() - batch.createdAt;
+        try {
+            presenceService.push(userId, DESTINATION, frame);
+            frames.incrementAndGet();
+            delivered.addAndGet(frame.size());
+            maxBatchSize.accumulateAndGet(frame.size(), Math::max);
+            intervalMaxBatchSize.accumulateAndGet(frame.size(), Math::max);
+            totalFlushDelayMs.addAndGet(delay);
+            maxFlushDelayMs.accumulateAndGet(delay, Math::max);
+            intervalMaxFlushDelayMs.accumulateAndGet(delay, Math::max);
+        } catch (Exception e) {
+            failedFrames.incrementAndGet();
+            System.err.println("Failed to push " + frame.size() + " notifications to " + userId + ": " + e.getMessage());
+        }
+    }
+
+    private static final class Batch {
+        private final long createdAt = System.currentTimeMillis();
+        private final List<Notification> notifications = new ArrayList<>();
+    }
+}
@@ -1,15 +1,28 @@
 package com.miniproject.backend.service;
 
 import com.miniproject.backend.model.Notification;
+import com.miniproject.backend.model.UserStats;
 import com.miniproject.backend.model.Notification.NotificationType;
 import com.miniproject.backend.repository.NotificationRepository;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -23,9 +36,24 @@ public class NotificationService {
     private NotificationRepository notificationRepository;
     
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private PresenceService presenceService;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private UserStatsService userStatsService;
+    
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+    
+    @Value("${notifications.coalesce-window-hours:24}")
+    private long coalesceWindowHours;
     
     private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int RECENT_ACTORS = 3;
+    // Actor ids a coalesced notification remembers for dedup; beyond this many distinct actors the count is approximate
+    private static final int TRACKED_ACTORS = 500;
     private static final Pattern MENTION_PATTERN = Pattern.compile("@([a-zA-Z0-9_]+)");
     
     /**
@@ -33,6 +61,9 @@ public class NotificationService {
      */
     public Notification createNotification(Notification notification) {
         Notification saved = notificationRepository.save(notification);
+        if (!saved.isRead()) {
+            userStatsService.incCounter(saved.getReceiverId(), UserStats.UNREAD_NOTIFICATIONS, 1);
+        }
         
         // Push notification to user via WebSocket
         pushNotificationToUser(saved);
@@ -97,20 +128,19 @@ public class NotificationService {
     }
     
     /**
-     * Create notification for post like
+     * Create or update the rolling like notification for a post
      */
     public Notification createLikeNotification(String receiverId, String senderId,
                                               String senderName, String postId) {
-        String message = senderName + " liked your post";
-        String actionUrl = "/?postId=" + postId;
-        
-        Notification notification = new Notification(
-            receiverId, senderId, senderName, NotificationType.POST_LIKE,
-            message, postId, "post"
-        );
-        notification.setActionUrl(actionUrl);
-        
-        return createNotification(notification);
+        return coalesce(receiverId, senderId, senderName, NotificationType.POST_LIKE,
+            postId, "post", "/?postId=" + postId, reactionVerb(NotificationType.POST_LIKE, "post"));
+    }
+    
+    /**
+     * Take an unliker out of the rolling like notification for a post
+     */
+    public void withdrawLikeNotification(String receiverId, String senderId, String postId) {
+        withdraw(receiverId, senderId, NotificationType.POST_LIKE, postId, "post");
     }
     
     /**
@@ -186,23 +216,159 @@ public class NotificationService {
     }
     
     /**
-     * Create notification for upvote
+     * Create or update the rolling upvote notification for a thread or post
      */
     public Notification createUpvoteNotification(String receiverId, String senderId,
                                                 String senderName, String entityId,
                                                 String entityType) {
-        String message = senderName + " upvoted your " + entityType;
         String actionUrl = entityType.equals("thread") 
             ? "/threads/" + entityId 
             : "/?highlightPost=" + entityId;
         
-        Notification notification = new Notification(
-            receiverId, senderId, senderName, NotificationType.UPVOTE,
-            message, entityId, entityType
+        return coalesce(receiverId, senderId, senderName, NotificationType.UPVOTE,
+            entityId, entityType, actionUrl, reactionVerb(NotificationType.UPVOTE, entityType));
+    }
+    
+    /**
+     * Take a withdrawn upvote out of the rolling upvote notification for a thread or comment
+     */
+    public void withdrawUpvoteNotification(String receiverId, String senderId, String entityId, String entityType) {
+        withdraw(receiverId, senderId, NotificationType.UPVOTE, entityId, entityType);
+    }
+    
+    /**
+     * Fold a reaction into the receiver's notification for the entity in the current window
+     * ("X and N others liked your post") with one atomic upsert, then push the updated document.
+     * Returns null if the actor is already counted; actorIds remembers the last TRACKED_ACTORS of them.
+     */
+    private Notification coalesce(String receiverId, String actorId, String actorName,
+                                  NotificationType type, String entityId, String entityType,
+                                  String actionUrl, String verb) {
+        long now = System.currentTimeMillis();
+        String groupKey = groupKey(receiverId, type, entityId, now);
+        
+        Query query = new Query(Criteria.where("groupKey").is(groupKey)
+            .and("actorIds").ne(actorId)
+            .and("recentActors.userId").ne(actorId));
+        Update update = new Update()
+            .setOnInsert("receiverId", receiverId)
+            .setOnInsert("type", type)
+            .setOnInsert("entityId", entityId)
+            .setOnInsert("entityType", entityType)
+            .setOnInsert("actionUrl", actionUrl)
+            .setOnInsert("message", actorName + " " + verb)
+            .set("senderId", actorId)
+            .set("senderName", actorName)
+            .set("isRead", false)
+            .set("createdAt", now)
+            .inc("actorCount", 1);
+        update.push("recentActors").slice(-RECENT_ACTORS).each(new Notification.Actor(actorId, actorName));
+        update.push("actorIds").slice(-TRACKED_ACTORS).each(actorId);
+        // The previous version tells whether this reaction made the group unread again
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(false);
+        
+        Notification previous = null;
+        boolean applied = false;
+        // A duplicate key means either another actor created the group first (retry updates it)
+        // or this actor is already in it (the retry fails the same way)
+        for (int attempt = 0; attempt < 2 && !applied; attempt++) {
+            try {
+                previous = mongoTemplate.findAndModify(query, update, options, Notification.class);
+                applied = true;
+            } catch (DuplicateKeyException e) {
+                // Fall through to the next attempt
+            }
+        }
+        if (!applied) {
+            return null;
+        }
+        if (previous == null || previous.isRead()) {
+            userStatsService.incCounter(receiverId, UserStats.UNREAD_NOTIFICATIONS, 1);
+        }
+        Notification notification = mongoTemplate.findOne(
+            new Query(Criteria.where("groupKey").is(groupKey)), Notification.class);
+        if (notification == null) {
+            return null;
+        }
+        
+        String message = reactionMessage(actorName, notification.getActorCount() - 1, verb);
+        notification.setMessage(message);
+        
+        // Skip the text if a newer reaction has already been counted; its own update writes a fresher one
+        mongoTemplate.updateFirst(
+            new Query(Criteria.where("_id").is(notification.getId()).and("actorCount").is(notification.getActorCount())),
+            new Update().set("message", message),
+            Notification.class
         );
-        notification.setActionUrl(actionUrl);
         
-        return createNotification(notification);
+        pushNotificationToUser(notification);
+        return notification;
+    }
+    
+    /**
+     * Undo a reaction counted in the receiver's notification for the entity in the current window.
+     * The text moves to the newest remaining actor; a group left with no actors is deleted.
+     * Reactions counted in an earlier window stay in that notification.
+     */
+    private void withdraw(String receiverId, String actorId, NotificationType type,
+                          String entityId, String entityType) {
+        String groupKey = groupKey(receiverId, type, entityId, System.currentTimeMillis());
+        Update update = new Update()
+            .inc("actorCount", -1)
+            .pull("actorIds", actorId)
+            .pull("recentActors", new Document("userId", actorId));
+        Notification notification = mongoTemplate.findAndModify(
+            new Query(Criteria.where("groupKey").is(groupKey).and("actorIds").is(actorId)),
+            update,
+            FindAndModifyOptions.options().returnNew(true),
+            Notification.class
+        );
+        if (notification == null) {
+            return;
+        }
+        
+        if (notification.getActorCount() <= 0) {
+            Notification removed = mongoTemplate.findAndRemove(
+                new Query(Criteria.where("_id").is(notification.getId()).and("actorCount").lte(0)),
+                Notification.class
+            );
+            if (removed != null && !removed.isRead()) {
+                userStatsService.incCounter(receiverId, UserStats.UNREAD_NOTIFICATIONS, -1);
+                pushUnreadCountUpdate(receiverId);
+            }
+            return;
+        }
+        
+        List<Notification.Actor> recent = notification.getRecentActors();
+        Update text = new Update();
+        String actorName = notification.getSenderName();
+        if (recent != null && !recent.isEmpty()) {
+            Notification.Actor newest = recent.get(recent.size() - 1);
+            actorName = newest.getName();
+            text.set("senderId", newest.getUserId()).set("senderName", newest.getName());
+        }
+        text.set("message", reactionMessage(actorName, notification.getActorCount() - 1, reactionVerb(type, entityType)));
+        // Skip if another reaction changed the count since; its own update writes a fresher text
+        mongoTemplate.updateFirst(
+            new Query(Criteria.where("_id").is(notification.getId()).and("actorCount").is(notification.getActorCount())),
+            text,
+            Notification.class
+        );
+    }
+    
+    private String groupKey(String receiverId, NotificationType type, String entityId, long now) {
+        long window = now / (coalesceWindowHours * 60 * 60 * 1000);
+        return receiverId + ":" + type + ":" + entityId + ":" + window;
+    }
+    
+    private static String reactionVerb(NotificationType type, String entityType) {
+        return type == NotificationType.POST_LIKE ? "liked your post" : "upvoted your " + entityType;
+    }
+    
+    private static String reactionMessage(String actorName, int others, String verb) {
+        return others <= 0
+            ? actorName + " " + verb
+            : actorName + " and " + others + (others == 1 ? " other " : " others ") + verb;
     }
     
     /**
@@ -214,52 +380,75 @@ public class NotificationService {
     }
     
     /**
-     * Get unread notifications count
+     * Get unread notifications count, from the user's counter (counted only on first use)
      */
     public long getUnreadCount(String userId) {
-        return notificationRepository.countByReceiverIdAndIsRead(userId, false);
+        return userStatsService.getCounter(userId, UserStats.UNREAD_NOTIFICATIONS,
+            () -> notificationRepository.countByReceiverIdAndIsRead(userId, false));
     }
     
     /**
      * Mark notification as read
      */
     public void markAsRead(String notificationId) {
-        notificationRepository.findById(notificationId).ifPresent(notification -> {
-            if (!notification.isRead()) {
-                notification.setRead(true);
-                notificationRepository.save(notification);
-                
-                // Push updated count to user
-                pushUnreadCountUpdate(notification.getReceiverId());
-            }
-        });
+        // Only the request that flips it from unread adjusts the counter
+        Notification notification = mongoTemplate.findAndModify(
+            new Query(Criteria.where("_id").is(notificationId).and("isRead").is(false)),
+            new Update().set("isRead", true),
+            Notification.class
+        );
+        if (notification != null) {
+            userStatsService.incCounter(notification.getReceiverId(), UserStats.UNREAD_NOTIFICATIONS, -1);
+            
+            // Push updated count to user
+            pushUnreadCountUpdate(notification.getReceiverId());
+        }
     }
     
     /**
-     * Mark all notifications as read for a user
+     * Mark all notifications as read for a user with one updateMulti; returns how many changed
      */
-    public void markAllAsRead(String userId) {
-        List<Notification> unreadNotifications = 
-            notificationRepository.findUnreadNotificationsByReceiverId(userId);
-        
-        unreadNotifications.forEach(notification -> {
-            notification.setRead(true);
-        });
+    public long markAllAsRead(String userId) {
+        long modified = mongoTemplate.updateMulti(
+            new Query(Criteria.where("receiverId").is(userId).and("isRead").is(false)),
+            new Update().set("isRead", true),
+            Notification.class
+        ).getModifiedCount();
         
-        notificationRepository.saveAll(unreadNotifications);
+        if (modified > 0) {
+            userStatsService.incCounter(userId, UserStats.UNREAD_NOTIFICATIONS, -modified);
+        }
         pushUnreadCountUpdate(userId);
+        return modified;
     }
     
     /**
      * Delete a notification
      */
     public void deleteNotification(String notificationId, String userId) {
-        notificationRepository.findById(notificationId).ifPresent(notification -> {
-            if (notification.getReceiverId().equals(userId)) {
-                notificationRepository.delete(notification);
-                pushUnreadCountUpdate(userId);
+        Notification deleted = mongoTemplate.findAndRemove(
+            new Query(Criteria.where("_id").is(notificationId).and("receiverId").is(userId)),
+            Notification.class
+        );
+        if (deleted != null) {
+            if (!deleted.isRead()) {
+                userStatsService.incCounter(userId, UserStats.UNREAD_NOTIFICATIONS, -1);
             }
-        });
+            pushUnreadCountUpdate(userId);
+        }
+    }
+    
+    /**
+     * Delete the user's notifications with the given ids, or all of them when ids is null; returns how many went
+     */
+    public long deleteNotifications(String userId, Collection<String> ids) {
+        Criteria owned = Criteria.where("receiverId").is(userId);
+        if (ids != null) {
+            owned = owned.and("_id").in(ids);
+        }
+        long deleted = removeCountingUnread(new Query(owned), userId);
+        pushUnreadCountUpdate(userId);
+        return deleted;
     }
     
     /**
@@ -279,25 +468,10 @@ public class NotificationService {
     }
     
     /**
-     * Push notification to user via WebSocket
+     * Hand a notification to the user's outbox, which pushes it with the next batched frame
      */
     private void pushNotificationToUser(Notification notification) {
-        try {
-            System.out.println("Pushing notification to user: " + notification.getReceiverId());
-            System.out.println("Notification type: " + notification.getType());
-            System.out.println("Sender: " + notification.getSenderName());
-            
-            messagingTemplate.convertAndSendToUser(
-                notification.getReceiverId(),
-                "/queue/notifications",
-                notification
-            );
-            
-            System.out.println("Notification pushed successfully to: " + notification.getReceiverId());
-        } catch (Exception e) {
-            System.err.println("Failed to push notification via WebSocket: " + e.getMessage());
-            e.printStackTrace();
-        }
+        notificationOutbox.enqueue(notification);
     }
     
     /**
@@ -306,7 +480,7 @@ public class NotificationService {
     private void pushUnreadCountUpdate(String userId) {
         try {
             long unreadCount = getUnreadCount(userId);
-            messagingTemplate.convertAndSendToUser(
+            presenceService.pushLatest(
                 userId,
                 "/queue/unread-count",
                 unreadCount
@@ -347,6 +521,47 @@ public class NotificationService {
      */
     public void cleanupOldNotifications(String userId, int daysToKeep) {
         long cutoffTime = System.currentTimeMillis() - (daysToKeep * 24L * 60 * 60 * 1000);
-        notificationRepository.deleteByReceiverIdAndCreatedAtBefore(userId, cutoffTime);
+        removeCountingUnread(new Query(Criteria.where("receiverId").is(userId).and("createdAt").lt(cutoffTime)), userId);
+    }
+    
+    /**
+     * Remove the user's notifications matching the query: unread ones first, so the counter drops
+     * by exactly what was removed, then the rest
+     */
+    private long removeCountingUnread(Query query, String userId) {
+        Query unreadQuery = Query.of(query).addCriteria(Criteria.where("isRead").is(false));
+        long unread = mongoTemplate.remove(unreadQuery, Notification.class).getDeletedCount();
+        if (unread > 0) {
+            userStatsService.incCounter(userId, UserStats.UNREAD_NOTIFICATIONS, -unread);
+        }
+        return unread + mongoTemplate.remove(query, Notification.class).getDeletedCount();
+    }
+    
+    /**
+     * Recount unread notifications per user with one aggregation and repair drifted counters
+     */
+    @Scheduled(initialDelayString = "${user-stats.reconcile-interval-ms:3600000}",
+               fixedDelayString = "${user-stats.reconcile-interval-ms:3600000}")
+    public void reconcileUnreadCounts() {
+        try {
+            userStatsService.reconcileCounter(UserStats.UNREAD_NOTIFICATIONS, this::countUnread);
+        } catch (Exception e) {
+            System.err.println("Unread notification reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Unread notifications per user, straight from the collection
+     */
+    private Map<String, Long> countUnread() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("isRead").is(false)),
+                Aggregation.group("receiverId").count().as("count")
+        );
+        Map<String, Long> unread = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Notification.class, Document.class)) {
+            unread.put(row.getString("_id"), ((Number) row.get("count")).longValue());
+        }
+        return unread;
     }
 }
@@ -0,0 +1,213 @@
+package com.miniproject.backend.service;
+
+import com.miniproject.backend.cache.LruTtlCache;
+import com.miniproject.backend.dto.PresenceDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Who is connected, keyed by the STOMP principal (user id).
+ * A user is online while at least one session is open. Pushes to offline users are held
+ * in a bounded per-user queue and delivered when the user subscribes to that destination again.
+ */
+@Service
+public class PresenceService {
+
+    // Pending pushes kept per offline user, and how long an offline user's queue is kept
+    private static final int MAX_QUEUED_PER_USER = 100;
+    private static final int MAX_QUEUED_USERS = 10000;
+    private static final long QUEUE_TTL_HOURS = 24;
+
+    // Largest number of users accepted by the batch presence lookup
+    private static final int MAX_BATCH = 100;
+
+    // Gives the broker time to register a subscription before queued pushes are replayed onto it
+    private static final long FLUSH_DELAY_MS = 200;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final Map<String, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+    private final Map<String, String> userBySession = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> subscriptionsBySession = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> lastSeen = new ConcurrentHashMap<>();
+
+    private final LruTtlCache<String, Deque<QueuedPush>> offlineQueues =
+            new LruTtlCache<>(MAX_QUEUED_USERS, QUEUE_TTL_HOURS, TimeUnit.HOURS);
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "presence-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public void sessionConnected(String userId, String sessionId) {
+        userBySession.put(sessionId, userId);
+        sessionsByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(sessionId);
+    }
+
+    public void sessionDisconnected(String sessionId) {
+        subscriptionsBySession.remove(sessionId);
+        String userId = userBySession.remove(sessionId);
+        if (userId == null) {
+            return;
+        }
+        sessionsByUser.computeIfPresent(userId, (id, sessions) -> {
+            sessions.remove(sessionId);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        lastSeen.put(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Track a subscription, and replay anything queued for that destination while the user was offline
+     */
+    public void subscribed(String userId, String sessionId, String subscriptionId, String destination) {
+        if (destination == null) {
+            return;
+        }
+        subscriptionsBySession.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (userId != null && destination.startsWith("/user/")) {
+            flusher.schedule(() -> flushQueued(userId, destination), FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void unsubscribed(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = subscriptionsBySession.get(sessionId);
+        if (subscriptions != null) {
+            subscriptions.remove(subscriptionId);
+        }
+    }
+
+    public boolean isOnline(String userId) {
+        return sessionsByUser.containsKey(userId);
+    }
+
+    /**
+     * Whether any of the user's sessions is subscribed to the destination
+     */
+    public boolean isWatching(String userId, String destination) {
+        Set<String> sessions = sessionsByUser.get(userId);
+        if (sessions == null) {
+            return false;
+        }
+        for (String sessionId : sessions) {
+            Map<String, String> subscriptions = subscriptionsBySession.get(sessionId);
+            if (subscriptions != null && subscriptions.containsValue(destination)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public PresenceDTO getPresence(String userId) {
+        boolean online = isOnline(userId);
+        return new PresenceDTO(userId, online, online ? null : lastSeen.get(userId));
+    }
+
+    public List<PresenceDTO> getPresence(Collection<String> userIds) {
+        if (userIds.size() > MAX_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH + " users per request");
+        }
+        List<PresenceDTO> presence = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            presence.add(getPresence(userId));
+        }
+        return presence;
+    }
+
+    /**
+     * Push to a user queue, or hold the payload until the user is back
+     */
+    public void push(String userId, String destination, Object payload) {
+        send(userId, destination, payload, false);
+    }
+
+    /**
+     * Like push, but an offline user only keeps the newest payload for the destination (e.g. counters)
+     */
+    public void pushLatest(String userId, String destination, Object payload) {
+        send(userId, destination, payload, true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+    }
+
+    private void send(String userId, String destination, Object payload, boolean replaceQueued) {
+        if (isOnline(userId)) {
+            messagingTemplate.convertAndSendToUser(userId, destination, payload);
+            return;
+        }
+        synchronized (offlineQueues) {
+            Deque<QueuedPush> queue = offlineQueues.get(userId);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+            }
+            if (replaceQueued) {
+                queue.removeIf(queued -> queued.destination.equals(destination));
+            }
+            if (queue.size() >= MAX_QUEUED_PER_USER) {
+                queue.pollFirst();
+            }
+            queue.addLast(new QueuedPush(destination, payload));
+            offlineQueues.put(userId, queue);
+        }
+    }
+
+    private void flushQueued(String userId, String subscribedDestination) {
+        List<QueuedPush> due = new ArrayList<>();
+        synchronized (offlineQueues) {
+            Deque<QueuedPush> queue = offlineQueues.get(userId);
+            if (queue == null) {
+                return;
+            }
+            // Clients subscribe as /user/queue/x (or /user/{id}/queue/x); match on the queue suffix
+            Iterator<QueuedPush> it = queue.iterator();
+            while (it.hasNext()) {
+                QueuedPush queued = it.next();
+                if (subscribedDestination.endsWith(queued.destination)) {
+                    due.add(queued);
+                    it.remove();
+                }
+            }
+            if (queue.isEmpty()) {
+                offlineQueues.invalidate(userId);
+            }
+        }
+        for (QueuedPush queued : due) {
+            try {
+                messagingTemplate.convertAndSendToUser(userId, queued.destination, queued.payload);
+            } catch (Exception e) {
+                System.err.println("Failed to deliver queued push to " + userId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static final class QueuedPush {
+        private final String destination;
+        private final Object payload;
+
+        private QueuedPush(String destination, Object payload) {
+            this.destination = destination;
+            this.payload = payload;
+        }
+    }
+}
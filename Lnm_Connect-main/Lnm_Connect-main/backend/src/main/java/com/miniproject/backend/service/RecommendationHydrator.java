@@ -0,0 +1,68 @@
+package com.miniproject.backend.service;
+
+import com.miniproject.backend.model.Recommendation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Batch loader for stored recommendations.
+ * Resolves every target with a single $in query limited to the projected fields,
+ * then maps them back in the stored score order. Targets that no longer exist are skipped,
+ * as are targets toDto turns down by returning null.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecommendationHydrator {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Load the targets of the given recommendations and convert each one to a DTO
+     */
+    public <T, D> List<D> hydrate(List<Recommendation> ranked,
+                                  Class<T> targetClass,
+                                  Function<T, String> idOf,
+                                  BiFunction<T, Recommendation, D> toDto,
+                                  String... fields) {
+        if (ranked == null || ranked.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> targetIds = new LinkedHashSet<>();
+        for (Recommendation rec : ranked) {
+            targetIds.add(rec.getTargetId());
+        }
+
+        Query query = new Query(Criteria.where("_id").in(targetIds));
+        if (fields.length > 0) {
+            query.fields().include(fields);
+        }
+
+        Map<String, T> targetsById = new HashMap<>();
+        for (T target : mongoTemplate.find(query, targetClass)) {
+            targetsById.put(idOf.apply(target), target);
+        }
+
+        List<D> dtos = new ArrayList<>(targetsById.size());
+        for (Recommendation rec : ranked) {
+            T target = targetsById.get(rec.getTargetId());
+            D dto = target != null ? toDto.apply(target, rec) : null;
+            if (dto != null) {
+                dtos.add(dto);
+            }
+        }
+        return dtos;
+    }
+}
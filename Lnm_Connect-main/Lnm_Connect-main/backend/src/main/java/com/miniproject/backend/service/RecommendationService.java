@@ -5,14 +5,24 @@ import com.miniproject.backend.dto.ProfileRecommendationDTO;
 import com.miniproject.backend.dto.ProjectRecommendationDTO;
 import com.miniproject.backend.model.*;
 import com.miniproject.backend.repository.*;
+import com.miniproject.backend.util.MatchTerms;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class RecommendationService {
@@ -32,8 +42,32 @@ public class RecommendationService {
     @Autowired
     private RecommendationEngine engine;
     
+    @Autowired
+    private RecommendationHydrator hydrator;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
     private static final int MAX_RECOMMENDATIONS = 20;
     
+    // Stored recommendations older than this are regenerated on read, so new and lapsed candidates show up
+    private static final Duration MAX_STORED_AGE = Duration.ofHours(1);
+    
+    // Fields needed to rebuild cached DTOs (everything else stays on the server)
+    private static final String[] PROFILE_FIELDS = {
+        "name", "photoUrl", "bio", "experienceLevel", "branchYear", "skills", "interests", "techStack",
+        "followingUsers"
+    };
+    private static final String[] PROJECT_FIELDS = {
+        "title", "description", "ownerId", "ownerName", "teamMembers", "requiredSkills", "tags", "domain",
+        "techStack", "teamSize", "currentTeamMembers", "status", "isActive", "difficulty", "mentorName", "createdAt"
+    };
+    private static final String[] EVENT_FIELDS = {
+        "title", "description", "organizerName", "organizerType", "domainTags", "skillFocus",
+        "activityType", "eventDate", "location", "meetingLink", "maxParticipants",
+        "currentParticipants", "registeredUsers", "difficulty", "status", "isPublic"
+    };
+    
     /**
      * Generate profile recommendations for a user
      */
@@ -51,6 +85,7 @@ public class RecommendationService {
         List<User> allUsers = userRepository.findAll();
         
         List<ProfileRecommendationDTO> recommendations = new ArrayList<>();
+        Set<String> recommendedIds = new HashSet<>();
         
         for (User targetUser : allUsers) {
             // Skip self
@@ -70,59 +105,14 @@ public class RecommendationService {
             
             // Only include if similarity is above threshold
             if (similarity > 0.1) {
-                ProfileRecommendationDTO dto = new ProfileRecommendationDTO();
-                dto.setUserId(targetUser.getId());
-                dto.setName(targetUser.getName());
-                dto.setPhotoUrl(targetUser.getPhotoUrl());
-                dto.setBio(targetUser.getBio());
-                dto.setExperienceLevel(targetUser.getExperienceLevel());
-                dto.setBranchYear(targetUser.getBranchYear());
-                dto.setSkills(targetUser.getSkills());
-                dto.setInterests(targetUser.getInterests());
-                dto.setTechStack(targetUser.getTechStack());
-                
-                dto.setSimilarityScore(similarity);
-                dto.setMatchPercentage((int) (similarity * 100));
-                
-                // Calculate match details
-                List<String> commonSkills = engine.findCommonElements(
-                    currentUser.getSkills(), targetUser.getSkills()
-                );
-                List<String> complementarySkills = engine.findComplementarySkills(
-                    currentUser.getSkills(), targetUser.getSkills()
-                );
-                List<String> commonInterests = engine.findCommonElements(
-                    currentUser.getInterests(), targetUser.getInterests()
-                );
-                
-                dto.setCommonSkills(commonSkills);
-                dto.setComplementarySkills(complementarySkills);
-                dto.setCommonInterests(commonInterests);
-                
-                // Calculate collaboration score
-                int mutualConnections = 0;
-                if (currentUser.getFollowingUsers() != null && targetUser.getFollowingUsers() != null) {
-                    Set<String> mutual = new HashSet<>(currentUser.getFollowingUsers());
-                    mutual.retainAll(targetUser.getFollowingUsers());
-                    mutualConnections = mutual.size();
-                }
-                dto.setCollaborationScore(mutualConnections);
-                
-                // Generate match reason
-                if (!commonSkills.isEmpty()) {
-                    dto.setMatchReason(engine.generateMatchReason(commonSkills.size(), "skills"));
-                } else if (!commonInterests.isEmpty()) {
-                    dto.setMatchReason(engine.generateMatchReason(commonInterests.size(), "interests"));
-                } else {
-                    dto.setMatchReason("Potential collaboration opportunity");
-                }
-                
-                recommendations.add(dto);
+                recommendations.add(toProfileDTO(currentUser, targetUser, similarity));
                 
                 // Save to database
                 saveRecommendation(userId, "profile", targetUser.getId(), similarity);
+                recommendedIds.add(targetUser.getId());
             }
         }
+        removeStale(userId, "profile", recommendedIds);
         
         // Sort by similarity score and return top N
         return recommendations.stream()
@@ -144,15 +134,18 @@ public class RecommendationService {
         
         User currentUser = currentUserOpt.get();
         
-        // Get recruiting projects
-        List<Project> projects = projectRepository.findRecruitingProjects();
+        // Get recruiting projects with open spots that overlap the user's skills or interests
+        List<String> skillTerms = MatchTerms.of(currentUser.getSkills());
+        List<String> interestTerms = MatchTerms.of(currentUser.getInterests());
+        List<Project> projects = skillTerms.isEmpty() && interestTerms.isEmpty()
+            ? projectRepository.findRecruitingProjects()
+            : projectRepository.findByRequiredSkillsIn(skillTerms, interestTerms);
         
         List<ProjectRecommendationDTO> recommendations = new ArrayList<>();
+        Set<String> recommendedIds = new HashSet<>();
         
         for (Project project : projects) {
-            // Skip projects user owns or is already member of
-            if (project.getOwnerId().equals(userId) ||
-                (project.getTeamMembers() != null && project.getTeamMembers().contains(userId))) {
+            if (isOwnerOrMember(project, userId)) {
                 continue;
             }
             
@@ -167,54 +160,14 @@ public class RecommendationService {
             
             // Only include if similarity is above threshold
             if (similarity > 0.1) {
-                ProjectRecommendationDTO dto = new ProjectRecommendationDTO();
-                dto.setProjectId(project.getId());
-                dto.setTitle(project.getTitle());
-                dto.setDescription(project.getDescription());
-                dto.setOwnerName(project.getOwnerName());
-                dto.setRequiredSkills(project.getRequiredSkills());
-                dto.setTags(project.getTags());
-                dto.setDomain(project.getDomain());
-                dto.setTechStack(project.getTechStack());
-                dto.setTeamSize(project.getTeamSize());
-                dto.setCurrentTeamMembers(project.getCurrentTeamMembers());
-                dto.setSpotsAvailable(project.getTeamSize() - project.getCurrentTeamMembers());
-                dto.setStatus(project.getStatus());
-                dto.setDifficulty(project.getDifficulty());
-                dto.setMentorName(project.getMentorName());
-                dto.setCreatedAt(project.getCreatedAt());
-                
-                dto.setSimilarityScore(similarity);
-                dto.setMatchPercentage((int) (similarity * 100));
-                
-                // Calculate match details
-                List<String> matchingSkills = engine.findCommonElements(
-                    currentUser.getSkills(), project.getRequiredSkills()
-                );
-                List<String> learningOpportunities = engine.findComplementarySkills(
-                    currentUser.getSkills(), project.getRequiredSkills()
-                );
-                
-                dto.setMatchingSkills(matchingSkills);
-                dto.setLearningOpportunities(learningOpportunities);
-                dto.setSkillMatchCount(matchingSkills.size());
-                
-                // Generate match reason
-                int totalSkills = project.getRequiredSkills() != null ? project.getRequiredSkills().size() : 0;
-                if (matchingSkills.size() == totalSkills && totalSkills > 0) {
-                    dto.setMatchReason("You have all " + totalSkills + " required skills!");
-                } else if (matchingSkills.size() > 0) {
-                    dto.setMatchReason("You have " + matchingSkills.size() + " out of " + totalSkills + " required skills");
-                } else {
-                    dto.setMatchReason("Great learning opportunity in " + project.getDomain());
-                }
-                
-                recommendations.add(dto);
+                recommendations.add(toProjectDTO(currentUser, project, similarity));
                 
                 // Save to database
                 saveRecommendation(userId, "project", project.getId(), similarity);
+                recommendedIds.add(project.getId());
             }
         }
+        removeStale(userId, "project", recommendedIds);
         
         // Sort by similarity score and return top N
         return recommendations.stream()
@@ -236,14 +189,18 @@ public class RecommendationService {
         
         User currentUser = currentUserOpt.get();
         
-        // Get upcoming events
-        List<Event> events = eventRepository.findUpcomingEvents(LocalDateTime.now());
+        // Get upcoming events with open spots that overlap the user's interests or skills
+        List<String> interestTerms = MatchTerms.of(currentUser.getInterests());
+        List<String> skillTerms = MatchTerms.of(currentUser.getSkills());
+        List<Event> events = interestTerms.isEmpty() && skillTerms.isEmpty()
+            ? eventRepository.findEventsWithAvailableSpots(LocalDateTime.now())
+            : eventRepository.findByDomainTagsIn(interestTerms, skillTerms, LocalDateTime.now());
         
         List<EventRecommendationDTO> recommendations = new ArrayList<>();
+        Set<String> recommendedIds = new HashSet<>();
         
         for (Event event : events) {
-            // Skip events user is already registered for
-            if (event.getRegisteredUsers() != null && event.getRegisteredUsers().contains(userId)) {
+            if (isRegistered(event, userId)) {
                 continue;
             }
             
@@ -258,62 +215,14 @@ public class RecommendationService {
             
             // Only include if similarity is above threshold
             if (similarity > 0.1) {
-                EventRecommendationDTO dto = new EventRecommendationDTO();
-                dto.setEventId(event.getId());
-                dto.setTitle(event.getTitle());
-                dto.setDescription(event.getDescription());
-                dto.setOrganizerName(event.getOrganizerName());
-                dto.setOrganizerType(event.getOrganizerType());
-                dto.setDomainTags(event.getDomainTags());
-                dto.setSkillFocus(event.getSkillFocus());
-                dto.setActivityType(event.getActivityType());
-                dto.setEventDate(event.getEventDate());
-                dto.setLocation(event.getLocation());
-                dto.setMeetingLink(event.getMeetingLink());
-                dto.setMaxParticipants(event.getMaxParticipants());
-                dto.setCurrentParticipants(event.getCurrentParticipants());
-                dto.setSpotsAvailable(event.getMaxParticipants() - event.getCurrentParticipants());
-                dto.setDifficulty(event.getDifficulty());
-                dto.setStatus(event.getStatus());
-                
-                dto.setSimilarityScore(similarity);
-                dto.setMatchPercentage((int) (similarity * 100));
-                
-                // Calculate match details
-                List<String> matchingInterests = engine.findCommonElements(
-                    currentUser.getInterests(), event.getDomainTags()
-                );
-                List<String> relevantSkills = engine.findCommonElements(
-                    currentUser.getSkills(), event.getSkillFocus()
-                );
-                List<String> skillsToLearn = engine.findComplementarySkills(
-                    currentUser.getSkills(), event.getSkillFocus()
-                );
-                
-                dto.setMatchingInterests(matchingInterests);
-                dto.setRelevantSkills(relevantSkills);
-                dto.setSkillsToLearn(skillsToLearn);
-                
-                // Calculate days until event
-                long daysUntilEvent = Duration.between(LocalDateTime.now(), event.getEventDate()).toDays();
-                dto.setIsUpcoming(daysUntilEvent >= 0);
-                dto.setDaysUntilEvent(daysUntilEvent);
-                
-                // Generate match reason
-                if (!matchingInterests.isEmpty()) {
-                    dto.setMatchReason("Aligned with your " + String.join(", ", matchingInterests) + " interests");
-                } else if (!skillsToLearn.isEmpty()) {
-                    dto.setMatchReason("Learn " + String.join(", ", skillsToLearn));
-                } else {
-                    dto.setMatchReason("Recommended " + event.getActivityType());
-                }
-                
-                recommendations.add(dto);
+                recommendations.add(toEventDTO(currentUser, event, similarity));
                 
                 // Save to database
                 saveRecommendation(userId, "event", event.getId(), similarity);
+                recommendedIds.add(event.getId());
             }
         }
+        removeStale(userId, "event", recommendedIds);
         
         // Sort by similarity score and return top N
         return recommendations.stream()
@@ -347,6 +256,15 @@ public class RecommendationService {
         }
     }
     
+    /**
+     * Drop the user's stored recommendations of one type that the latest generation no longer produced
+     */
+    private void removeStale(String userId, String targetType, Set<String> recommendedIds) {
+        mongoTemplate.remove(new Query(Criteria.where("userId").is(userId)
+            .and("targetType").is(targetType)
+            .and("targetId").nin(recommendedIds)), Recommendation.class);
+    }
+    
     /**
      * Refresh all recommendations for a user
      */
@@ -362,35 +280,341 @@ public class RecommendationService {
     }
     
     /**
-     * Get cached profile recommendations
+     * Store MatchTerms on projects and events written before the term fields existed,
+     * so the candidate queries find them
      */
-    public List<ProfileRecommendationDTO> getProfileRecommendations(String userId) {
-        List<Recommendation> recommendations = recommendationRepository
-            .findByUserIdAndTargetTypeOrderBySimilarityScoreDesc(userId, "profile");
+    public void backfillMatchTerms() {
+        Query projectQuery = new Query(new Criteria().orOperator(
+            Criteria.where("requiredSkillTerms").exists(false),
+            Criteria.where("tagTerms").exists(false)
+        ));
+        projectQuery.fields().include("requiredSkills", "tags");
+        int projects = 0;
+        try (Stream<Project> stream = mongoTemplate.stream(projectQuery, Project.class)) {
+            for (Project project : (Iterable<Project>) stream::iterator) {
+                mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(project.getId())),
+                    new Update()
+                        .set("requiredSkillTerms", MatchTerms.of(project.getRequiredSkills()))
+                        .set("tagTerms", MatchTerms.of(project.getTags())),
+                    Project.class
+                );
+                projects++;
+            }
+        }
         
-        if (recommendations.isEmpty()) {
-            // Generate if not exists
+        Query eventQuery = new Query(new Criteria().orOperator(
+            Criteria.where("domainTagTerms").exists(false),
+            Criteria.where("skillFocusTerms").exists(false)
+        ));
+        eventQuery.fields().include("domainTags", "skillFocus");
+        int events = 0;
+        try (Stream<Event> stream = mongoTemplate.stream(eventQuery, Event.class)) {
+            for (Event event : (Iterable<Event>) stream::iterator) {
+                mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(event.getId())),
+                    new Update()
+                        .set("domainTagTerms", MatchTerms.of(event.getDomainTags()))
+                        .set("skillFocusTerms", MatchTerms.of(event.getSkillFocus())),
+                    Event.class
+                );
+                events++;
+            }
+        }
+        System.out.println("Match terms backfilled: " + projects + " projects, " + events + " events");
+    }
+    
+    /**
+     * Get cached profile recommendations, generating them if none are stored or they are older than MAX_STORED_AGE
+     */
+    public List<ProfileRecommendationDTO> getProfileRecommendations(String userId) {
+        if (!hasFreshStored(userId, "profile")) {
             return generateProfileRecommendations(userId);
         }
+        User currentUser = userRepository.findById(userId).orElse(null);
+        if (currentUser == null) {
+            return new ArrayList<>();
+        }
+        
+        return hydrateTop(userId, "profile", User.class, User::getId,
+            (targetUser, rec) -> toProfileDTO(currentUser, targetUser, rec.getSimilarityScore()),
+            PROFILE_FIELDS);
+    }
+    
+    /**
+     * Get cached project recommendations, generating them if none are stored or they are older than MAX_STORED_AGE.
+     * Projects the user has since joined or taken over, and projects no longer recruiting, are left out, as when generating.
+     */
+    public List<ProjectRecommendationDTO> getProjectRecommendations(String userId) {
+        if (!hasFreshStored(userId, "project")) {
+            return generateProjectRecommendations(userId);
+        }
+        User currentUser = userRepository.findById(userId).orElse(null);
+        if (currentUser == null) {
+            return new ArrayList<>();
+        }
         
-        // Convert to DTOs
-        List<ProfileRecommendationDTO> dtos = new ArrayList<>();
-        for (Recommendation rec : recommendations) {
-            User targetUser = userRepository.findById(rec.getTargetId()).orElse(null);
-            if (targetUser != null) {
-                ProfileRecommendationDTO dto = new ProfileRecommendationDTO();
-                dto.setUserId(targetUser.getId());
-                dto.setName(targetUser.getName());
-                dto.setPhotoUrl(targetUser.getPhotoUrl());
-                dto.setBio(targetUser.getBio());
-                dto.setSkills(targetUser.getSkills());
-                dto.setInterests(targetUser.getInterests());
-                dto.setSimilarityScore(rec.getSimilarityScore());
-                dto.setMatchPercentage((int) (rec.getSimilarityScore() * 100));
-                dtos.add(dto);
+        return hydrateTop(userId, "project", Project.class, Project::getId,
+            (project, rec) -> isOwnerOrMember(project, userId) || !isRecruiting(project)
+                ? null
+                : toProjectDTO(currentUser, project, rec.getSimilarityScore()),
+            PROJECT_FIELDS);
+    }
+    
+    /**
+     * Get cached event recommendations, generating them if none are stored or they are older than MAX_STORED_AGE.
+     * Events the user has since registered for, and events already held or full, are left out, as when generating.
+     */
+    public List<EventRecommendationDTO> getEventRecommendations(String userId) {
+        if (!hasFreshStored(userId, "event")) {
+            return generateEventRecommendations(userId);
+        }
+        User currentUser = userRepository.findById(userId).orElse(null);
+        if (currentUser == null) {
+            return new ArrayList<>();
+        }
+        
+        return hydrateTop(userId, "event", Event.class, Event::getId,
+            (event, rec) -> isRegistered(event, userId) || !isOpen(event)
+                ? null
+                : toEventDTO(currentUser, event, rec.getSimilarityScore()),
+            EVENT_FIELDS);
+    }
+    
+    /**
+     * Whether the user has stored recommendations of one type written within MAX_STORED_AGE.
+     * Generation touches every row it keeps, so the newest row dates the last generation.
+     */
+    private boolean hasFreshStored(String userId, String targetType) {
+        Query query = new Query(Criteria.where("userId").is(userId).and("targetType").is(targetType))
+            .with(Sort.by(Sort.Direction.DESC, "updatedAt"));
+        query.fields().include("updatedAt");
+        Recommendation newest = mongoTemplate.findOne(query, Recommendation.class);
+        return newest != null && newest.getUpdatedAt() != null
+            && newest.getUpdatedAt().isAfter(LocalDateTime.now().minus(MAX_STORED_AGE));
+    }
+    
+    /**
+     * Top N stored recommendations of one type as DTOs, best score first. Rows toDto turns down are
+     * skipped before the limit, reading further pages until N are found or the rows run out.
+     */
+    private <T, D> List<D> hydrateTop(String userId, String targetType, Class<T> targetClass,
+                                      Function<T, String> idOf, BiFunction<T, Recommendation, D> toDto,
+                                      String... fields) {
+        List<D> dtos = new ArrayList<>();
+        for (int page = 0; dtos.size() < MAX_RECOMMENDATIONS; page++) {
+            List<Recommendation> ranked = recommendationRepository.findByUserIdAndTargetTypeOrderBySimilarityScoreDesc(
+                userId, targetType, PageRequest.of(page, MAX_RECOMMENDATIONS)
+            );
+            dtos.addAll(hydrator.hydrate(ranked, targetClass, idOf, toDto, fields));
+            if (ranked.size() < MAX_RECOMMENDATIONS) {
+                break;
             }
         }
+        return dtos.size() > MAX_RECOMMENDATIONS ? new ArrayList<>(dtos.subList(0, MAX_RECOMMENDATIONS)) : dtos;
+    }
+    
+    private boolean isOwnerOrMember(Project project, String userId) {
+        return userId.equals(project.getOwnerId())
+            || (project.getTeamMembers() != null && project.getTeamMembers().contains(userId));
+    }
+    
+    private boolean isRegistered(Event event, String userId) {
+        return event.getRegisteredUsers() != null && event.getRegisteredUsers().contains(userId);
+    }
+    
+    /**
+     * Same conditions as the project candidate queries: recruiting, active and with open spots
+     */
+    private boolean isRecruiting(Project project) {
+        return "recruiting".equals(project.getStatus())
+            && Boolean.TRUE.equals(project.getIsActive())
+            && hasOpenSpots(project.getTeamSize(), project.getCurrentTeamMembers());
+    }
+    
+    /**
+     * Same conditions as the event candidate queries: upcoming, public, not yet held and with open spots
+     */
+    private boolean isOpen(Event event) {
+        return "upcoming".equals(event.getStatus())
+            && Boolean.TRUE.equals(event.getIsPublic())
+            && event.getEventDate() != null && !event.getEventDate().isBefore(LocalDateTime.now())
+            && hasOpenSpots(event.getMaxParticipants(), event.getCurrentParticipants());
+    }
+    
+    /**
+     * Mirrors $expr {$lt: [taken, capacity]}: a missing capacity has no spots, a missing count takes none
+     */
+    private boolean hasOpenSpots(Integer capacity, Integer taken) {
+        return capacity != null && (taken == null || taken < capacity);
+    }
+    
+    /**
+     * Open spots, or null when the capacity is not set
+     */
+    private Integer spotsAvailable(Integer capacity, Integer taken) {
+        if (capacity == null) {
+            return null;
+        }
+        return capacity - (taken != null ? taken : 0);
+    }
+    
+    /**
+     * Profile recommendation with its match details, shared by generated and cached recommendations
+     */
+    private ProfileRecommendationDTO toProfileDTO(User currentUser, User targetUser, double similarity) {
+        ProfileRecommendationDTO dto = new ProfileRecommendationDTO();
+        dto.setUserId(targetUser.getId());
+        dto.setName(targetUser.getName());
+        dto.setPhotoUrl(targetUser.getPhotoUrl());
+        dto.setBio(targetUser.getBio());
+        dto.setExperienceLevel(targetUser.getExperienceLevel());
+        dto.setBranchYear(targetUser.getBranchYear());
+        dto.setSkills(targetUser.getSkills());
+        dto.setInterests(targetUser.getInterests());
+        dto.setTechStack(targetUser.getTechStack());
+        
+        dto.setSimilarityScore(similarity);
+        dto.setMatchPercentage((int) (similarity * 100));
+        
+        // Calculate match details
+        List<String> commonSkills = engine.findCommonElements(
+            currentUser.getSkills(), targetUser.getSkills()
+        );
+        List<String> complementarySkills = engine.findComplementarySkills(
+            currentUser.getSkills(), targetUser.getSkills()
+        );
+        List<String> commonInterests = engine.findCommonElements(
+            currentUser.getInterests(), targetUser.getInterests()
+        );
+        
+        dto.setCommonSkills(commonSkills);
+        dto.setComplementarySkills(complementarySkills);
+        dto.setCommonInterests(commonInterests);
+        
+        // Calculate collaboration score
+        int mutualConnections = 0;
+        if (currentUser.getFollowingUsers() != null && targetUser.getFollowingUsers() != null) {
+            Set<String> mutual = new HashSet<>(currentUser.getFollowingUsers());
+            mutual.retainAll(targetUser.getFollowingUsers());
+            mutualConnections = mutual.size();
+        }
+        dto.setCollaborationScore(mutualConnections);
+        
+        // Generate match reason
+        if (!commonSkills.isEmpty()) {
+            dto.setMatchReason(engine.generateMatchReason(commonSkills.size(), "skills"));
+        } else if (!commonInterests.isEmpty()) {
+            dto.setMatchReason(engine.generateMatchReason(commonInterests.size(), "interests"));
+        } else {
+            dto.setMatchReason("Potential collaboration opportunity");
+        }
+        return dto;
+    }
+    
+    /**
+     * Project recommendation with its match details, shared by generated and cached recommendations
+     */
+    private ProjectRecommendationDTO toProjectDTO(User currentUser, Project project, double similarity) {
+        ProjectRecommendationDTO dto = new ProjectRecommendationDTO();
+        dto.setProjectId(project.getId());
+        dto.setTitle(project.getTitle());
+        dto.setDescription(project.getDescription());
+        dto.setOwnerName(project.getOwnerName());
+        dto.setRequiredSkills(project.getRequiredSkills());
+        dto.setTags(project.getTags());
+        dto.setDomain(project.getDomain());
+        dto.setTechStack(project.getTechStack());
+        dto.setTeamSize(project.getTeamSize());
+        dto.setCurrentTeamMembers(project.getCurrentTeamMembers());
+        dto.setSpotsAvailable(spotsAvailable(project.getTeamSize(), project.getCurrentTeamMembers()));
+        dto.setStatus(project.getStatus());
+        dto.setDifficulty(project.getDifficulty());
+        dto.setMentorName(project.getMentorName());
+        dto.setCreatedAt(project.getCreatedAt());
+        
+        dto.setSimilarityScore(similarity);
+        dto.setMatchPercentage((int) (similarity * 100));
+        
+        // Calculate match details
+        List<String> matchingSkills = engine.findCommonElements(
+            currentUser.getSkills(), project.getRequiredSkills()
+        );
+        List<String> learningOpportunities = engine.findComplementarySkills(
+            currentUser.getSkills(), project.getRequiredSkills()
+        );
+        
+        dto.setMatchingSkills(matchingSkills);
+        dto.setLearningOpportunities(learningOpportunities);
+        dto.setSkillMatchCount(matchingSkills.size());
+        
+        // Generate match reason
+        int totalSkills = project.getRequiredSkills() != null ? project.getRequiredSkills().size() : 0;
+        if (matchingSkills.size() == totalSkills && totalSkills > 0) {
+            dto.setMatchReason("You have all " + totalSkills + " required skills!");
+        } else if (matchingSkills.size() > 0) {
+            dto.setMatchReason("You have " + matchingSkills.size() + " out of " + totalSkills + " required skills");
+        } else {
+            dto.setMatchReason("Great learning opportunity in " + project.getDomain());
+        }
+        return dto;
+    }
+    
+    /**
+     * Event recommendation with its match details, shared by generated and cached recommendations
+     */
+    private EventRecommendationDTO toEventDTO(User currentUser, Event event, double similarity) {
+        EventRecommendationDTO dto = new EventRecommendationDTO();
+        dto.setEventId(event.getId());
+        dto.setTitle(event.getTitle());
+        dto.setDescription(event.getDescription());
+        dto.setOrganizerName(event.getOrganizerName());
+        dto.setOrganizerType(event.getOrganizerType());
+        dto.setDomainTags(event.getDomainTags());
+        dto.setSkillFocus(event.getSkillFocus());
+        dto.setActivityType(event.getActivityType());
+        dto.setEventDate(event.getEventDate());
+        dto.setLocation(event.getLocation());
+        dto.setMeetingLink(event.getMeetingLink());
+        dto.setMaxParticipants(event.getMaxParticipants());
+        dto.setCurrentParticipants(event.getCurrentParticipants());
+        dto.setSpotsAvailable(spotsAvailable(event.getMaxParticipants(), event.getCurrentParticipants()));
+        dto.setDifficulty(event.getDifficulty());
+        dto.setStatus(event.getStatus());
         
-        return dtos;
+        dto.setSimilarityScore(similarity);
+        dto.setMatchPercentage((int) (similarity * 100));
+        
+        // Calculate match details
+        List<String> matchingInterests = engine.findCommonElements(
+            currentUser.getInterests(), event.getDomainTags()
+        );
+        List<String> relevantSkills = engine.findCommonElements(
+            currentUser.getSkills(), event.getSkillFocus()
+        );
+        List<String> skillsToLearn = engine.findComplementarySkills(
+            currentUser.getSkills(), event.getSkillFocus()
+        );
+        
+        dto.setMatchingInterests(matchingInterests);
+        dto.setRelevantSkills(relevantSkills);
+        dto.setSkillsToLearn(skillsToLearn);
+        
+        // Calculate days until event
+        if (event.getEventDate() != null) {
+            long daysUntilEvent = Duration.between(LocalDateTime.now(), event.getEventDate()).toDays();
+            dto.setIsUpcoming(daysUntilEvent >= 0);
+            dto.setDaysUntilEvent(daysUntilEvent);
+        }
+        
+        // Generate match reason
+        if (!matchingInterests.isEmpty()) {
+            dto.setMatchReason("Aligned with your " + String.join(", ", matchingInterests) + " interests");
+        } else if (!skillsToLearn.isEmpty()) {
+            dto.setMatchReason("Learn " + String.join(", ", skillsToLearn));
+        } else {
+            dto.setMatchReason("Recommended " + event.getActivityType());
+        }
+        return dto;
     }
 }
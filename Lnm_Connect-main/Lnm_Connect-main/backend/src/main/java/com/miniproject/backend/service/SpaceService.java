@@ -1,5 +1,7 @@
 package com.miniproject.backend.service;
 
+import com.miniproject.backend.cache.UserSummary;
+import com.miniproject.backend.cache.UserSummaryCache;
 import com.miniproject.backend.dto.SpaceDTO;
 import com.miniproject.backend.model.Space;
 import com.miniproject.backend.repository.SpaceRepository;
@@ -11,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -22,6 +25,7 @@ public class SpaceService {
     
     private final SpaceRepository spaceRepository;
     private final UserRepository userRepository;
+    private final UserSummaryCache userSummaryCache;
     
     /**
      * Create a new space
@@ -56,8 +60,9 @@ public class SpaceService {
      */
     public List<SpaceDTO> getAllSpaces(String currentUserId) {
         List<Space> spaces = spaceRepository.findAll();
+        Map<String, UserSummary> creators = loadCreators(spaces);
         return spaces.stream()
-                .map(space -> convertToDTO(space, currentUserId))
+                .map(space -> convertToDTO(space, currentUserId, creators.get(space.getCreatorId())))
                 .collect(Collectors.toList());
     }
     
@@ -107,8 +112,9 @@ public class SpaceService {
      */
     public List<SpaceDTO> getUserSpaces(String userId) {
         List<Space> spaces = spaceRepository.findByMemberIdsContaining(userId);
+        Map<String, UserSummary> creators = loadCreators(spaces);
         return spaces.stream()
-                .map(space -> convertToDTO(space, userId))
+                .map(space -> convertToDTO(space, userId, creators.get(space.getCreatorId())))
                 .collect(Collectors.toList());
     }
     
@@ -247,6 +253,10 @@ public class SpaceService {
      * Convert Space to DTO
      */
     private SpaceDTO convertToDTO(Space space, String currentUserId) {
+        return convertToDTO(space, currentUserId, userSummaryCache.get(space.getCreatorId()));
+    }
+    
+    private SpaceDTO convertToDTO(Space space, String currentUserId, UserSummary creator) {
         SpaceDTO dto = new SpaceDTO();
         dto.setId(space.getId());
         dto.setName(space.getName());
@@ -266,10 +276,17 @@ public class SpaceService {
         dto.setUpdatedAt(space.getUpdatedAt());
         
         // Get creator name
-        userRepository.findById(space.getCreatorId()).ifPresent(user -> {
-            dto.setCreatorName(user.getName());
-        });
+        if (creator != null) {
+            dto.setCreatorName(creator.getName());
+        }
         
         return dto;
     }
+    
+    /**
+     * Every creator of a page of spaces, loaded in one query
+     */
+    private Map<String, UserSummary> loadCreators(List<Space> spaces) {
+        return userSummaryCache.getAll(spaces.stream().map(Space::getCreatorId).collect(Collectors.toSet()));
+    }
 }
@@ -1,9 +1,10 @@
 package com.miniproject.backend.service;
 
+import com.miniproject.backend.cache.UserSummary;
+import com.miniproject.backend.cache.UserSummaryCache;
 import com.miniproject.backend.dto.ThreadCommentDTO;
 import com.miniproject.backend.model.Thread;
 import com.miniproject.backend.model.ThreadComment;
-import com.miniproject.backend.model.User;
 import com.miniproject.backend.repository.ThreadCommentRepository;
 import com.miniproject.backend.repository.ThreadRepository;
 import com.miniproject.backend.repository.UserRepository;
@@ -15,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -28,6 +30,7 @@ public class ThreadCommentService {
     private final ThreadCommentRepository commentRepository;
     private final ThreadRepository threadRepository;
     private final UserRepository userRepository;
+    private final UserSummaryCache userSummaryCache;
     private final VoteService voteService;
     private final NotificationService notificationService;
     private final ApplicationEventPublisher eventPublisher;
@@ -42,8 +45,10 @@ public class ThreadCommentService {
             .orElseThrow(() -> new RuntimeException("Thread not found"));
         
         // Validate user exists
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        UserSummary user = userSummaryCache.get(userId);
+        if (user == null) {
+            throw new RuntimeException("User not found");
+        }
         
         // Create comment
         ThreadComment comment = new ThreadComment();
@@ -137,10 +142,12 @@ public class ThreadCommentService {
      */
     public List<ThreadCommentDTO> getCommentsByThread(String threadId, String userId) {
         List<ThreadComment> comments = commentRepository.findByThreadIdAndIsDeletedOrderByCreatedAtAsc(threadId, false);
+        Map<String, UserSummary> authors = userSummaryCache.getAll(
+            comments.stream().map(ThreadComment::getAuthorId).collect(Collectors.toSet()));
         
         return comments.stream()
             .map(comment -> {
-                User author = userRepository.findById(comment.getAuthorId()).orElse(null);
+                UserSummary author = authors.get(comment.getAuthorId());
                 Integer userVote = voteService.getUserVoteOnComment(userId, comment.getId());
                 return convertToDTO(comment, author, userVote);
             })
@@ -169,7 +176,7 @@ public class ThreadCommentService {
         comment.setUpdatedAt(LocalDateTime.now());
         
         ThreadComment savedComment = commentRepository.save(comment);
-        User author = userRepository.findById(userId).orElse(null);
+        UserSummary author = userSummaryCache.get(userId);
         Integer userVote = voteService.getUserVoteOnComment(userId, commentId);
         
         return convertToDTO(savedComment, author, userVote);
@@ -218,7 +225,7 @@ public class ThreadCommentService {
     /**
      * Convert ThreadComment to DTO
      */
-    private ThreadCommentDTO convertToDTO(ThreadComment comment, User author, Integer userVote) {
+    private ThreadCommentDTO convertToDTO(ThreadComment comment, UserSummary author, Integer userVote) {
         ThreadCommentDTO dto = new ThreadCommentDTO();
         dto.setId(comment.getId());
         dto.setThreadId(comment.getThreadId());
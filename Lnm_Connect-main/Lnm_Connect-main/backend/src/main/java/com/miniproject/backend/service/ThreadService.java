@@ -1,12 +1,12 @@
 package com.miniproject.backend.service;
 
+import com.miniproject.backend.cache.UserSummary;
+import com.miniproject.backend.cache.UserSummaryCache;
 import com.miniproject.backend.dto.ThreadDTO;
 import com.miniproject.backend.model.Space;
 import com.miniproject.backend.model.Thread;
-import com.miniproject.backend.model.User;
 import com.miniproject.backend.repository.SpaceRepository;
 import com.miniproject.backend.repository.ThreadRepository;
-import com.miniproject.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -25,7 +26,7 @@ public class ThreadService {
     
     private final ThreadRepository threadRepository;
     private final SpaceRepository spaceRepository;
-    private final UserRepository userRepository;
+    private final UserSummaryCache userSummaryCache;
     private final SpaceService spaceService;
     
     /**
@@ -74,8 +75,11 @@ public class ThreadService {
      */
     public List<ThreadDTO> getThreadsBySpace(String spaceId, String currentUserId) {
         List<Thread> threads = threadRepository.findBySpaceIdAndIsDeletedFalseOrderByLastActivityAtDesc(spaceId);
+        // Load every author in one query
+        Map<String, UserSummary> authors =
+                userSummaryCache.getAll(threads.stream().map(Thread::getAuthorId).collect(Collectors.toSet()));
         return threads.stream()
-                .map(thread -> convertToDTO(thread, currentUserId))
+                .map(thread -> convertToDTO(thread, currentUserId, authors.get(thread.getAuthorId())))
                 .collect(Collectors.toList());
     }
     
@@ -196,6 +200,10 @@ public class ThreadService {
      * Convert Thread to DTO
      */
     private ThreadDTO convertToDTO(Thread thread, String currentUserId) {
+        return convertToDTO(thread, currentUserId, userSummaryCache.get(thread.getAuthorId()));
+    }
+    
+    private ThreadDTO convertToDTO(Thread thread, String currentUserId, UserSummary author) {
         ThreadDTO dto = new ThreadDTO();
         dto.setId(thread.getId());
         dto.setSpaceId(thread.getSpaceId());
@@ -215,9 +223,9 @@ public class ThreadService {
         dto.setLastActivityAt(thread.getLastActivityAt());
         
         // Set author name
-        userRepository.findById(thread.getAuthorId()).ifPresent(user -> {
-            dto.setAuthorName(user.getName());
-        });
+        if (author != null) {
+            dto.setAuthorName(author.getName());
+        }
         
         // Check if current user is the author
         dto.setIsAuthor(thread.getAuthorId().equals(currentUserId));
@@ -0,0 +1,131 @@
+package com.miniproject.backend.service;
+
+import com.miniproject.backend.model.TypingIndicator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-side typing state per (room, user).
+ * Only start/stop transitions reach the broker, at most one per interval; a transition that arrives
+ * too soon is held and sent by the sweep once the interval has passed. A user still marked as typing
+ * after ttl-ms without a frame gets a stop sent for them.
+ */
+@Service
+public class TypingTracker {
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${chat.typing.interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${chat.typing.ttl-ms:5000}")
+    private long ttlMs;
+
+    private final Map<String, TypingState> states = new ConcurrentHashMap<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong forwarded = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+
+    /**
+     * Record a typing frame from a client, forwarding it only if it is a transition the room may see now
+     */
+    public void onFrame(String chatRoomId, TypingIndicator indicator) {
+        if (indicator.getUserId() == null) {
+            return;
+        }
+        received.incrementAndGet();
+        long now = System.currentTimeMillis();
+        TypingState state = states.computeIfAbsent(chatRoomId + ":" + indicator.getUserId(),
+                key -> new TypingState(chatRoomId, indicator.getUserId()));
+
+        synchronized (state) {
+            state.userName = indicator.getUserName();
+            state.desired = indicator.isTyping();
+            if (indicator.isTyping()) {
+                state.lastSeenAt = now;
+            }
+            if (state.desired != state.sent && now - state.lastTransitionAt >= intervalMs) {
+                send(state, state.desired, now);
+                return;
+            }
+        }
+        suppressed.incrementAndGet();
+    }
+
+    /**
+     * Send held transitions whose interval has passed, stop users whose typing state went stale,
+     * and forget idle entries
+     */
+    @Scheduled(fixedDelayString = "${chat.typing.interval-ms:1000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        Iterator<TypingState> it = states.values().iterator();
+        while (it.hasNext()) {
+            TypingState state = it.next();
+            synchronized (state) {
+                if (state.desired && now - state.lastSeenAt > ttlMs) {
+                    state.desired = false;
+                    if (state.sent) {
+                        expired.incrementAndGet();
+                    }
+                }
+                if (state.desired != state.sent && now - state.lastTransitionAt >= intervalMs) {
+                    send(state, state.desired, now);
+                }
+                if (!state.sent && !state.desired && now - state.lastTransitionAt > ttlMs) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Frame counters since startup
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("received", received.get());
+        stats.put("forwarded", forwarded.get());
+        stats.put("suppressed", suppressed.get());
+        stats.put("expired", expired.get());
+        stats.put("tracked", (long) states.size());
+        return stats;
+    }
+
+    private void send(TypingState state, boolean typing, long now) {
+        state.sent = typing;
+        state.lastTransitionAt = now;
+        forwarded.incrementAndGet();
+        messagingTemplate.convertAndSend(
+                "/topic/typing/" + state.chatRoomId,
+                new TypingIndicator(state.chatRoomId, state.userId, state.userName, typing)
+        );
+    }
+
+    private static final class TypingState {
+        private final String chatRoomId;
+        private final String userId;
+        private String userName;
+        private boolean sent;
+        private boolean desired;
+        private long lastSeenAt;
+        private long lastTransitionAt;
+
+        private TypingState(String chatRoomId, String userId) {
+            this.chatRoomId = chatRoomId;
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.miniproject.backend.service;
+
+import com.miniproject.backend.model.Follow;
+import com.miniproject.backend.model.Follow.FollowStatus;
+import com.miniproject.backend.model.UserStats;
+import com.miniproject.backend.repository.FollowRepository;
+import com.miniproject.backend.repository.UserStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Follower/following/connection counters kept in the user_stats collection.
+ * Counter documents are created lazily from the follows collection on first read;
+ * after that, follow changes adjust them with $inc. A scheduled job recounts
+ * everything from the follows collection and repairs any counter that drifted.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserStatsService {
+
+    private final UserStatsRepository userStatsRepository;
+    private final FollowRepository followRepository;
+    private final FollowGraph followGraph;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Counters for a user, initialized from the follows collection if missing.
+     * A document holding only unread counters has no updatedAt yet and gets its follow counters here.
+     */
+    public UserStats getStats(String userId) {
+        Optional<UserStats> existing = userStatsRepository.findById(userId);
+        if (existing.isPresent() && existing.get().getUpdatedAt() != null) {
+            return existing.get();
+        }
+
+        UserStats stats = existing.orElseGet(UserStats::new);
+        stats.setId(userId);
+        stats.setFollowerCount(followRepository.countByFollowingIdAndStatus(userId, FollowStatus.ACCEPTED));
+        stats.setFollowingCount(followRepository.countByFollowerIdAndStatus(userId, FollowStatus.ACCEPTED));
+        stats.setConnectionCount(countConnectionsFromFollows(userId));
+        stats.setUpdatedAt(LocalDateTime.now());
+        try {
+            mongoTemplate.upsert(
+                new Query(Criteria.where("_id").is(userId).and("updatedAt").exists(false)),
+                new Update()
+                    .set("followerCount", stats.getFollowerCount())
+                    .set("followingCount", stats.getFollowingCount())
+                    .set("connectionCount", stats.getConnectionCount())
+                    .set("updatedAt", stats.getUpdatedAt()),
+                UserStats.class
+            );
+        } catch (DuplicateKeyException e) {
+            // Another request initialized it first
+        }
+        return userStatsRepository.findById(userId).orElse(stats);
+    }
+
+    /**
+     * Counters for several users with one $in read. Users without a counter document are counted in bulk
+     * (from the follow graph, or with grouped $in queries over follows) and nothing is written for them:
+     * the ids may be anything a client sent, and real users get their document on their own first read.
+     */
+    public Map<String, UserStats> getStats(Collection<String> userIds) {
+        Map<String, UserStats> stats = new HashMap<>();
+        for (UserStats existing : userStatsRepository.findAllById(userIds)) {
+            if (existing.getUpdatedAt() != null) {
+                stats.put(existing.getId(), existing);
+            }
+        }
+        Set<String> missing = new HashSet<>(userIds);
+        missing.removeAll(stats.keySet());
+        if (missing.isEmpty()) {
+            return stats;
+        }
+
+        if (followGraph.isReady()) {
+            for (String userId : missing) {
+                stats.put(userId, transientStats(userId, followGraph.followerCount(userId),
+                    followGraph.followingCount(userId), followGraph.connectionCount(userId)));
+            }
+            return stats;
+        }
+
+        Map<String, Long> followers = countAccepted("followingId", Criteria.where("followingId").in(missing));
+        Map<String, Long> following = countAccepted("followerId", Criteria.where("followerId").in(missing));
+        Map<String, Long> connections = countConnections(missing);
+        for (String userId : missing) {
+            stats.put(userId, transientStats(userId, followers.getOrDefault(userId, 0L),
+                following.getOrDefault(userId, 0L), connections.getOrDefault(userId, 0L)));
+        }
+        return stats;
+    }
+
+    /**
+     * An accepted edge follower -> following was added
+     */
+    public void edgeAdded(String followerId, String followingId, boolean followedBack) {
+        applyEdgeDelta(followerId, followingId, followedBack, 1);
+    }
+
+    /**
+     * An accepted edge follower -> following was removed
+     */
+    public void edgeRemoved(String followerId, String followingId, boolean followedBack) {
+        applyEdgeDelta(followerId, followingId, followedBack, -1);
+    }
+
+    /**
+     * Only initialized counter documents are touched; missing ones are built on first read
+     */
+    private void applyEdgeDelta(String followerId, String followingId, boolean followedBack, int delta) {
+        Update followerUpdate = new Update().inc("followingCount", delta).set("updatedAt", LocalDateTime.now());
+        Update followingUpdate = new Update().inc("followerCount", delta).set("updatedAt", LocalDateTime.now());
+        if (followedBack) {
+            followerUpdate.inc("connectionCount", delta);
+            followingUpdate.inc("connectionCount", delta);
+        }
+        mongoTemplate.updateFirst(initialized(followerId), followerUpdate, UserStats.class);
+        mongoTemplate.updateFirst(initialized(followingId), followingUpdate, UserStats.class);
+    }
+
+    /**
+     * One of the unread counters (UserStats.UNREAD_*), counted with initialCount the first time it is read
+     */
+    public long getCounter(String userId, String field, LongSupplier initialCount) {
+        Query query = byId(userId);
+        query.fields().include(field);
+        UserStats stored = mongoTemplate.findOne(query, UserStats.class);
+        Long value = stored == null ? null : counter(stored, field);
+        if (value != null) {
+            return Math.max(0, value);
+        }
+
+        // Upsert the counter alone; follow counters are filled in by getStats when first needed
+        long count = initialCount.getAsLong();
+        try {
+            mongoTemplate.upsert(
+                new Query(Criteria.where("_id").is(userId).and(field).exists(false)),
+                new Update().set(field, count),
+                UserStats.class
+            );
+        } catch (DuplicateKeyException e) {
+            // Another request set the counter first; that value stands
+        }
+        return count;
+    }
+
+    /**
+     * Adjust a counter with $inc. One that was never read is left alone; its first read counts it.
+     */
+    public void incCounter(String userId, String field, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        mongoTemplate.updateFirst(
+            new Query(Criteria.where("_id").is(userId).and(field).exists(true)),
+            new Update().inc(field, delta),
+            UserStats.class
+        );
+    }
+
+    /**
+     * Repair every stored value of a counter against the actual counts; users missing from them have none.
+     * Stored values are read before the recount, and each repair only applies if the counter still holds
+     * the value read, so an $inc landing in between is never overwritten; that counter waits for the next run.
+     */
+    public int reconcileCounter(String field, Supplier<Map<String, Long>> actualCounts) {
+        Query query = new Query(Criteria.where(field).exists(true));
+        query.fields().include(field);
+
+        Map<String, Long> storedCounts = new HashMap<>();
+        try (Stream<UserStats> stored = mongoTemplate.stream(query, UserStats.class)) {
+            for (UserStats stats : (Iterable<UserStats>) stored::iterator) {
+                Long value = counter(stats, field);
+                if (value != null) {
+                    storedCounts.put(stats.getId(), value);
+                }
+            }
+        }
+
+        Map<String, Long> actual = actualCounts.get();
+        int repaired = 0;
+        for (Map.Entry<String, Long> entry : storedCounts.entrySet()) {
+            long expected = actual.getOrDefault(entry.getKey(), 0L);
+            if (entry.getValue() != expected) {
+                repaired += (int) mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(entry.getKey()).and(field).is(entry.getValue())),
+                    new Update().set(field, expected),
+                    UserStats.class
+                ).getModifiedCount();
+            }
+        }
+        if (repaired > 0) {
+            System.out.println("Reconciliation repaired " + repaired + " " + field + " counters");
+        }
+        return repaired;
+    }
+
+    /**
+     * Recount every accepted edge and repair counter documents that drifted.
+     * Stored values are read before the recount, and each repair only applies if the document still holds
+     * them, so an $inc landing in between is never overwritten; that document waits for the next run.
+     * The counts come from the follow graph when it is loaded, otherwise from one pass over the follows.
+     */
+    @Scheduled(initialDelayString = "${user-stats.reconcile-interval-ms:3600000}",
+               fixedDelayString = "${user-stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            // Documents holding only unread counters get their follow counters on first read
+            Query storedQuery = new Query(Criteria.where("updatedAt").exists(true));
+            storedQuery.fields().include("followerCount", "followingCount", "connectionCount");
+            List<UserStats> stored = mongoTemplate.find(storedQuery, UserStats.class);
+            if (stored.isEmpty()) {
+                return;
+            }
+
+            boolean fromGraph = followGraph.isReady();
+            Map<String, Set<String>> following = new HashMap<>();
+            Map<String, Long> followerCounts = new HashMap<>();
+            if (!fromGraph) {
+                Query edgesQuery = new Query(Criteria.where("status").is(FollowStatus.ACCEPTED));
+                edgesQuery.fields().include("followerId", "followingId");
+                try (Stream<Follow> edges = mongoTemplate.stream(edgesQuery, Follow.class)) {
+                    edges.forEach(edge -> {
+                        following.computeIfAbsent(edge.getFollowerId(), id -> new HashSet<>()).add(edge.getFollowingId());
+                        followerCounts.merge(edge.getFollowingId(), 1L, Long::sum);
+                    });
+                }
+            }
+
+            int repaired = 0;
+            for (UserStats stats : stored) {
+                String userId = stats.getId();
+                long followers;
+                long followingCount;
+                long connections;
+                if (fromGraph) {
+                    followers = followGraph.followerCount(userId);
+                    followingCount = followGraph.followingCount(userId);
+                    connections = followGraph.connectionCount(userId);
+                } else {
+                    Set<String> outgoing = following.getOrDefault(userId, Set.of());
+                    followers = followerCounts.getOrDefault(userId, 0L);
+                    followingCount = outgoing.size();
+                    connections = outgoing.stream()
+                        .filter(other -> following.getOrDefault(other, Set.of()).contains(userId))
+                        .count();
+                }
+
+                if (stats.getFollowerCount() != followers
+                        || stats.getFollowingCount() != followingCount
+                        || stats.getConnectionCount() != connections) {
+                    Query unchanged = new Query(Criteria.where("_id").is(userId)
+                        .and("followerCount").is(stats.getFollowerCount())
+                        .and("followingCount").is(stats.getFollowingCount())
+                        .and("connectionCount").is(stats.getConnectionCount()));
+                    repaired += (int) mongoTemplate.updateFirst(unchanged, new Update()
+                        .set("followerCount", followers)
+                        .set("followingCount", followingCount)
+                        .set("connectionCount", connections)
+                        .set("updatedAt", LocalDateTime.now()), UserStats.class).getModifiedCount();
+                }
+            }
+            if (repaired > 0) {
+                System.out.println("User stats reconciliation repaired " + repaired + " counter documents");
+            }
+        } catch (Exception e) {
+            System.err.println("User stats reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Count mutual follows straight from the follow graph or the follows collection
+     */
+    private long countConnectionsFromFollows(String userId) {
+        if (followGraph.isReady()) {
+            return followGraph.connectionCount(userId);
+        }
+
+        List<String> followingIds = followRepository.findByFollowerIdAndStatus(userId, FollowStatus.ACCEPTED).stream()
+            .map(Follow::getFollowingId)
+            .collect(Collectors.toList());
+        if (followingIds.isEmpty()) {
+            return 0;
+        }
+        return followRepository.countByFollowerIdInAndFollowingIdAndStatus(followingIds, userId, FollowStatus.ACCEPTED);
+    }
+
+    /**
+     * Accepted edges matching criteria, counted per value of groupField
+     */
+    private Map<String, Long> countAccepted(String groupField, Criteria criteria) {
+        TypedAggregation<Follow> aggregation = Aggregation.newAggregation(Follow.class,
+            Aggregation.match(criteria.and("status").is(FollowStatus.ACCEPTED)),
+            Aggregation.group(groupField).count().as("count")
+        );
+        Map<String, Long> counts = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Document.class)) {
+            counts.put(row.getString("_id"), ((Number) row.get("count")).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Mutual follows of several users: their outgoing edges, then whichever of those users follow back
+     */
+    private Map<String, Long> countConnections(Set<String> userIds) {
+        Query outgoingQuery = new Query(Criteria.where("followerId").in(userIds).and("status").is(FollowStatus.ACCEPTED));
+        outgoingQuery.fields().include("followerId", "followingId");
+        Set<String> outgoing = new HashSet<>();
+        Set<String> followed = new HashSet<>();
+        for (Follow edge : mongoTemplate.find(outgoingQuery, Follow.class)) {
+            outgoing.add(edge.getFollowerId() + ":" + edge.getFollowingId());
+            followed.add(edge.getFollowingId());
+        }
+        if (followed.isEmpty()) {
+            return Map.of();
+        }
+
+        Query backQuery = new Query(Criteria.where("followerId").in(followed)
+            .and("followingId").in(userIds)
+            .and("status").is(FollowStatus.ACCEPTED));
+        backQuery.fields().include("followerId", "followingId");
+        Map<String, Long> connections = new HashMap<>();
+        for (Follow edge : mongoTemplate.find(backQuery, Follow.class)) {
+            if (outgoing.contains(edge.getFollowingId() + ":" + edge.getFollowerId())) {
+                connections.merge(edge.getFollowingId(), 1L, Long::sum);
+            }
+        }
+        return connections;
+    }
+
+    private UserStats transientStats(String userId, long followers, long following, long connections) {
+        UserStats stats = new UserStats();
+        stats.setId(userId);
+        stats.setFollowerCount(followers);
+        stats.setFollowingCount(following);
+        stats.setConnectionCount(connections);
+        return stats;
+    }
+
+    private Long counter(UserStats stats, String field) {
+        switch (field) {
+            case UserStats.UNREAD_NOTIFICATIONS:
+                return stats.getUnreadNotificationCount();
+            case UserStats.UNREAD_TAGS:
+                return stats.getUnreadTagCount();
+            default:
+                throw new IllegalArgumentException("Unknown counter: " + field);
+        }
+    }
+
+    private Query initialized(String userId) {
+        return new Query(Criteria.where("_id").is(userId).and("updatedAt").exists(true));
+    }
+
+    private Query byId(String userId) {
+        return new Query(Criteria.where("_id").is(userId));
+    }
+}
@@ -1,13 +1,26 @@
 package com.miniproject.backend.service;
 
+import com.miniproject.backend.model.UserStats;
 import com.miniproject.backend.model.UserTag;
 import com.miniproject.backend.repository.UserTagRepository;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for managing user tags/mentions
@@ -17,6 +30,8 @@ import java.util.List;
 public class UserTagService {
     
     private final UserTagRepository userTagRepository;
+    private final UserStatsService userStatsService;
+    private final MongoTemplate mongoTemplate;
     
     /**
      * Create tags for mentioned users
@@ -24,19 +39,29 @@ public class UserTagService {
     @Transactional
     public List<UserTag> createTags(String taggerUserId, List<String> taggedUserIds, 
                                     String contentId, String contentType, String content) {
-        return taggedUserIds.stream()
-                .map(taggedUserId -> {
-                    UserTag tag = new UserTag();
-                    tag.setTaggedUserId(taggedUserId);
-                    tag.setTaggerUserId(taggerUserId);
-                    tag.setContentId(contentId);
-                    tag.setContentType(contentType);
-                    tag.setContent(content);
-                    tag.setCreatedAt(LocalDateTime.now());
-                    tag.setIsRead(false);
-                    return userTagRepository.save(tag);
-                })
-                .toList();
+        LocalDateTime now = LocalDateTime.now();
+        List<UserTag> tags = new ArrayList<>(taggedUserIds.size());
+        Map<String, Long> newByUser = new HashMap<>();
+        for (String taggedUserId : taggedUserIds) {
+            UserTag tag = new UserTag();
+            tag.setTaggedUserId(taggedUserId);
+            tag.setTaggerUserId(taggerUserId);
+            tag.setContentId(contentId);
+            tag.setContentType(contentType);
+            tag.setContent(content);
+            tag.setCreatedAt(now);
+            tag.setIsRead(false);
+            tags.add(tag);
+            newByUser.merge(taggedUserId, 1L, Long::sum);
+        }
+        if (tags.isEmpty()) {
+            return tags;
+        }
+        
+        // One insertMany for the whole mention list
+        List<UserTag> saved = new ArrayList<>(mongoTemplate.insertAll(tags));
+        newByUser.forEach((userId, count) -> userStatsService.incCounter(userId, UserStats.UNREAD_TAGS, count));
+        return saved;
     }
     
     /**
@@ -50,27 +75,32 @@ public class UserTagService {
      * Get unread tags for a user
      */
     public List<UserTag> getUnreadTagsForUser(String userId) {
-        return userTagRepository.findByTaggedUserIdAndIsReadOrderByCreatedAtDesc(userId, false);
+        Query query = new Query(Criteria.where("taggedUserId").is(userId).andOperator(unread()))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"));
+        return mongoTemplate.find(query, UserTag.class);
     }
     
     /**
-     * Mark tags as read
+     * Mark the user's tags with the given ids as read with one updateMulti; returns how many changed
      */
-    @Transactional
-    public void markTagsAsRead(List<String> tagIds) {
-        tagIds.forEach(tagId -> {
-            userTagRepository.findById(tagId).ifPresent(tag -> {
-                tag.setIsRead(true);
-                userTagRepository.save(tag);
-            });
-        });
+    public long markTagsAsRead(String userId, Collection<String> tagIds) {
+        return markRead(Criteria.where("taggedUserId").is(userId).and("_id").in(tagIds), userId);
+    }
+    
+    /**
+     * Mark every tag of a user as read with one updateMulti; returns how many changed
+     */
+    public long markAllTagsAsRead(String userId) {
+        return markRead(Criteria.where("taggedUserId").is(userId), userId);
     }
     
     /**
-     * Get tag count for a user
+     * Get unread tag count for a user, from the user's counter (counted only on first use)
      */
     public Long getUnreadTagCount(String userId) {
-        return userTagRepository.countByTaggedUserIdAndIsRead(userId, false);
+        return userStatsService.getCounter(userId, UserStats.UNREAD_TAGS,
+                () -> mongoTemplate.count(
+                        new Query(Criteria.where("taggedUserId").is(userId).andOperator(unread())), UserTag.class));
     }
     
     /**
@@ -78,7 +108,76 @@ public class UserTagService {
      */
     @Transactional
     public void deleteTagsByContent(String contentId, String contentType) {
-        List<UserTag> tags = userTagRepository.findByContentIdAndContentType(contentId, contentType);
-        userTagRepository.deleteAll(tags);
+        Query query = new Query(Criteria.where("contentId").is(contentId).and("contentType").is(contentType));
+        for (UserTag tag : mongoTemplate.findAllAndRemove(query, UserTag.class)) {
+            if (!Boolean.TRUE.equals(tag.getIsRead())) {
+                userStatsService.incCounter(tag.getTaggedUserId(), UserStats.UNREAD_TAGS, -1);
+            }
+        }
+    }
+    
+    /**
+     * Delete the user's tags with the given ids, or all of them when ids is null; returns how many went
+     */
+    public long deleteTags(String userId, Collection<String> tagIds) {
+        Criteria owned = Criteria.where("taggedUserId").is(userId);
+        if (tagIds != null) {
+            owned = owned.and("_id").in(tagIds);
+        }
+        Query query = new Query(owned);
+        
+        // Unread ones first, so the counter drops by exactly what was removed
+        long unread = mongoTemplate.remove(Query.of(query).addCriteria(unread()), UserTag.class).getDeletedCount();
+        if (unread > 0) {
+            userStatsService.incCounter(userId, UserStats.UNREAD_TAGS, -unread);
+        }
+        return unread + mongoTemplate.remove(query, UserTag.class).getDeletedCount();
+    }
+    
+    private long markRead(Criteria criteria, String userId) {
+        long modified = mongoTemplate.updateMulti(
+                new Query(criteria.andOperator(unread())),
+                new Update().set("isRead", true),
+                UserTag.class
+        ).getModifiedCount();
+        if (modified > 0) {
+            userStatsService.incCounter(userId, UserStats.UNREAD_TAGS, -modified);
+        }
+        return modified;
+    }
+    
+    /**
+     * A tag is unread unless isRead is true, so tags with no isRead count as unread everywhere
+     */
+    private static Criteria unread() {
+        return Criteria.where("isRead").ne(true);
+    }
+    
+    /**
+     * Recount unread tags per user with one aggregation and repair drifted counters
+     */
+    @Scheduled(initialDelayString = "${user-stats.reconcile-interval-ms:3600000}",
+               fixedDelayString = "${user-stats.reconcile-interval-ms:3600000}")
+    public void reconcileUnreadCounts() {
+        try {
+            userStatsService.reconcileCounter(UserStats.UNREAD_TAGS, this::countUnread);
+        } catch (Exception e) {
+            System.err.println("Unread tag reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Unread tags per user, straight from the collection
+     */
+    private Map<String, Long> countUnread() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(unread()),
+                Aggregation.group("taggedUserId").count().as("count")
+        );
+        Map<String, Long> unread = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, UserTag.class, Document.class)) {
+            unread.put(row.getString("_id"), ((Number) row.get("count")).longValue());
+        }
+        return unread;
     }
 }
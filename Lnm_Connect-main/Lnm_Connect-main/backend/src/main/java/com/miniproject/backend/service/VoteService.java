@@ -1,13 +1,13 @@
 package com.miniproject.backend.service;
 
+import com.miniproject.backend.cache.UserSummary;
+import com.miniproject.backend.cache.UserSummaryCache;
 import com.miniproject.backend.model.Thread;
 import com.miniproject.backend.model.ThreadComment;
 import com.miniproject.backend.model.Vote;
-import com.miniproject.backend.model.User;
 import com.miniproject.backend.repository.ThreadCommentRepository;
 import com.miniproject.backend.repository.ThreadRepository;
 import com.miniproject.backend.repository.VoteRepository;
-import com.miniproject.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,7 +25,7 @@ public class VoteService {
     private final VoteRepository voteRepository;
     private final ThreadRepository threadRepository;
     private final ThreadCommentRepository commentRepository;
-    private final UserRepository userRepository;
+    private final UserSummaryCache userSummaryCache;
     private final NotificationService notificationService;
     
     /**
@@ -52,6 +52,10 @@ public class VoteService {
             // Remove old vote counts from thread
             if (vote.getValue() == 1) {
                 thread.setUpvotes(thread.getUpvotes() - 1);
+                // The upvote is being removed or turned into a downvote
+                if (!userId.equals(thread.getAuthorId())) {
+                    notificationService.withdrawUpvoteNotification(thread.getAuthorId(), userId, threadId, "thread");
+                }
             } else {
                 thread.setDownvotes(thread.getDownvotes() - 1);
             }
@@ -91,7 +95,8 @@ public class VoteService {
         
         // Create notification for upvote only (not downvote)
         if (value == 1 && !userId.equals(thread.getAuthorId())) {
-            userRepository.findById(userId).ifPresent(voter -> {
+            UserSummary voter = userSummaryCache.get(userId);
+            if (voter != null) {
                 notificationService.createUpvoteNotification(
                     thread.getAuthorId(),
                     userId,
@@ -99,7 +104,7 @@ public class VoteService {
                     threadId,
                     "thread"
                 );
-            });
+            }
         }
         
         return savedVote;
@@ -129,6 +134,10 @@ public class VoteService {
             // Remove old vote counts from comment
             if (vote.getValue() == 1) {
                 comment.setUpvotes(comment.getUpvotes() - 1);
+                // The upvote is being removed or turned into a downvote
+                if (!userId.equals(comment.getAuthorId())) {
+                    notificationService.withdrawUpvoteNotification(comment.getAuthorId(), userId, commentId, "comment");
+                }
             } else {
                 comment.setDownvotes(comment.getDownvotes() - 1);
             }
@@ -168,7 +177,8 @@ public class VoteService {
         
         // Create notification for upvote only (not downvote)
         if (value == 1 && !userId.equals(comment.getAuthorId())) {
-            userRepository.findById(userId).ifPresent(voter -> {
+            UserSummary voter = userSummaryCache.get(userId);
+            if (voter != null) {
                 notificationService.createUpvoteNotification(
                     comment.getAuthorId(),
                     userId,
@@ -176,7 +186,7 @@ public class VoteService {
                     commentId,
                     "comment"
                 );
-            });
+            }
         }
         
         return savedVote;
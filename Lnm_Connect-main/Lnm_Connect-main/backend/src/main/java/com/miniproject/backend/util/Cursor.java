@@ -0,0 +1,62 @@
+package com.miniproject.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (timestamp, _id).
+ * Encoded as URL-safe base64 of "epochMillis:id" so clients treat it as a token.
+ */
+public final class Cursor {
+
+    private final long epochMillis;
+    private final String id;
+
+    public Cursor(long epochMillis, String id) {
+        this.epochMillis = epochMillis;
+        this.id = id;
+    }
+
+    /**
+     * Cursor for a document stored with a LocalDateTime (converted in the JVM zone, like Spring Data does)
+     */
+    public static Cursor of(LocalDateTime timestamp, String id) {
+        return new Cursor(timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), id);
+    }
+
+    /**
+     * Parse a token produced by encode(); null or blank means "no cursor"
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new Cursor(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = epochMillis + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public LocalDateTime toLocalDateTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,162 @@
+package com.miniproject.backend.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Open-addressing hash set of non-negative ints.
+ * Stores values in a single int[] (no boxing), using linear probing
+ * with backward-shift deletion so no tombstones accumulate.
+ * Not thread-safe; callers guard access themselves.
+ */
+public final class IntSet {
+
+    private static final int EMPTY = -1;
+    private static final int MIN_CAPACITY = 4;
+
+    private int[] table;
+    private int size;
+
+    public IntSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public IntSet(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 < expectedSize * 4) {
+            capacity <<= 1;
+        }
+        table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int value) {
+        int mask = table.length - 1;
+        for (int slot = mix(value) & mask; ; slot = (slot + 1) & mask) {
+            int current = table[slot];
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == value) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Add a value; returns false if it was already present
+     */
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("IntSet only holds non-negative values");
+        }
+        if ((size + 1) * 4 > table.length * 3) {
+            resize(table.length << 1);
+        }
+        int mask = table.length - 1;
+        for (int slot = mix(value) & mask; ; slot = (slot + 1) & mask) {
+            int current = table[slot];
+            if (current == EMPTY) {
+                table[slot] = value;
+                size++;
+                return true;
+            }
+            if (current == value) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Remove a value; returns false if it was not present
+     */
+    public boolean remove(int value) {
+        int mask = table.length - 1;
+        int slot = mix(value) & mask;
+        while (true) {
+            int current = table[slot];
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == value) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Shift later entries of the same probe run back into the hole
+        int hole = slot;
+        for (int next = (hole + 1) & mask; table[next] != EMPTY; next = (next + 1) & mask) {
+            int home = mix(table[next]) & mask;
+            boolean movable = hole <= next
+                ? (home <= hole || home > next)
+                : (home <= hole && home > next);
+            if (movable) {
+                table[hole] = table[next];
+                hole = next;
+            }
+        }
+        table[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int value : table) {
+            if (value != EMPTY) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Number of values present in both sets, probing the larger with the smaller
+     */
+    public int intersectionSize(IntSet other) {
+        IntSet small = size <= other.size ? this : other;
+        IntSet large = small == this ? other : this;
+        int count = 0;
+        for (int value : small.table) {
+            if (value != EMPTY && large.contains(value)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int[] toArray() {
+        int[] values = new int[size];
+        int i = 0;
+        for (int value : table) {
+            if (value != EMPTY) {
+                values[i++] = value;
+            }
+        }
+        return values;
+    }
+
+    private void resize(int capacity) {
+        int[] old = table;
+        table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        size = 0;
+        for (int value : old) {
+            if (value != EMPTY) {
+                add(value);
+            }
+        }
+    }
+
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
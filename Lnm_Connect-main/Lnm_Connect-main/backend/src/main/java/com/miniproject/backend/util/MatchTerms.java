@@ -0,0 +1,29 @@
+package com.miniproject.backend.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Skill, interest and tag lists in the form RecommendationEngine compares them: trimmed, lower-case, distinct.
+ * Stored next to the raw lists so candidate queries can match with a plain $in on a multikey index.
+ */
+public final class MatchTerms {
+
+    private MatchTerms() {
+    }
+
+    public static List<String> of(Collection<String> values) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    terms.add(value.trim().toLowerCase());
+                }
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+}
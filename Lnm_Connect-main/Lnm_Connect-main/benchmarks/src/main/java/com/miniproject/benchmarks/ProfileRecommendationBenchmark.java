@@ -0,0 +1,65 @@
+package com.miniproject.benchmarks;
+
+import com.miniproject.backend.dto.ProfileRecommendationDTO;
+import com.miniproject.backend.model.User;
+import com.miniproject.backend.repository.RecommendationRepository;
+import com.miniproject.backend.repository.UserRepository;
+import com.miniproject.backend.service.RecommendationEngine;
+import com.miniproject.backend.service.RecommendationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full generateProfileRecommendations pass over a synthetic population.
+ * Repositories are in-memory stubs, so this measures scoring and DTO building only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProfileRecommendationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int users;
+
+    private RecommendationService service;
+
+    @Setup
+    public void setup() {
+        List<User> population = SyntheticData.users(users, 42);
+        User current = population.get(0);
+
+        UserRepository userRepository = Stubs.repository(UserRepository.class, Map.of(
+            "findAll", args -> population,
+            "findById", args -> Optional.of(current)
+        ));
+        RecommendationRepository recommendationRepository =
+            Stubs.repository(RecommendationRepository.class, Map.of());
+
+        service = new RecommendationService();
+        Stubs.inject(service, "userRepository", userRepository);
+        Stubs.inject(service, "recommendationRepository", recommendationRepository);
+        Stubs.inject(service, "engine", new RecommendationEngine());
+    }
+
+    @Benchmark
+    public List<ProfileRecommendationDTO> generateProfileRecommendations() {
+        return service.generateProfileRecommendations("u0");
+    }
+}
@@ -0,0 +1,78 @@
+package com.miniproject.benchmarks;
+
+import com.miniproject.backend.service.RecommendationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-pair cost of the similarity functions used by every recommendation type
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecommendationEngineBenchmark {
+
+    private final RecommendationEngine engine = new RecommendationEngine();
+
+    private List<String> userSkills;
+    private List<String> targetSkills;
+    private List<String> userInterests;
+    private List<String> targetInterests;
+    private List<String> userFollowing;
+    private List<String> targetFollowing;
+    private LocalDateTime createdAt;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        userSkills = SyntheticData.pick(random, SyntheticData.SKILLS, 6);
+        targetSkills = SyntheticData.pick(random, SyntheticData.SKILLS, 6);
+        userInterests = SyntheticData.pick(random, SyntheticData.INTERESTS, 4);
+        targetInterests = SyntheticData.pick(random, SyntheticData.INTERESTS, 4);
+        userFollowing = SyntheticData.users(200, 7).get(0).getFollowingUsers();
+        targetFollowing = SyntheticData.users(200, 7).get(1).getFollowingUsers();
+        createdAt = LocalDateTime.now().minusDays(12);
+    }
+
+    @Benchmark
+    public double cosineSimilarity() {
+        return engine.calculateCosineSimilarity(userSkills, targetSkills);
+    }
+
+    @Benchmark
+    public double profileSimilarity() {
+        return engine.calculateProfileSimilarity(
+            userSkills, targetSkills, userInterests, targetInterests, userFollowing, targetFollowing);
+    }
+
+    @Benchmark
+    public double projectSimilarity() {
+        return engine.calculateProjectSimilarity(userSkills, targetSkills, userInterests, targetInterests, createdAt);
+    }
+
+    @Benchmark
+    public List<String> commonElements() {
+        return engine.findCommonElements(userSkills, targetSkills);
+    }
+
+    @Benchmark
+    public List<String> complementarySkills() {
+        return engine.findComplementarySkills(userSkills, targetSkills);
+    }
+}
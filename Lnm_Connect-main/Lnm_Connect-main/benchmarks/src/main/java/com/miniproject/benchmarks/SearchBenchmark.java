@@ -0,0 +1,61 @@
+package com.miniproject.benchmarks;
+
+import com.miniproject.backend.dto.SearchResponseDTO;
+import com.miniproject.backend.model.Post;
+import com.miniproject.backend.model.User;
+import com.miniproject.backend.repository.PostRepository;
+import com.miniproject.backend.repository.UserRepository;
+import com.miniproject.backend.service.SearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SearchService.globalSearch matching over in-memory users and posts.
+ * "react" hits early and stops at the limit; "nomatch" scans every document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SearchBenchmark {
+
+    @Param({"10000"})
+    public int documents;
+
+    @Param({"react", "nomatch"})
+    public String query;
+
+    private SearchService service;
+
+    @Setup
+    public void setup() {
+        List<User> users = SyntheticData.users(documents, 42);
+        List<Post> posts = SyntheticData.posts(documents, documents, 43);
+
+        service = new SearchService();
+        Stubs.inject(service, "userRepository",
+            Stubs.repository(UserRepository.class, Map.of("findAll", args -> users)));
+        Stubs.inject(service, "postRepository",
+            Stubs.repository(PostRepository.class, Map.of("findAll", args -> posts)));
+    }
+
+    @Benchmark
+    public SearchResponseDTO globalSearch() {
+        return service.globalSearch(query, 10);
+    }
+}
@@ -0,0 +1,142 @@
+package com.miniproject.benchmarks;
+
+import com.miniproject.backend.model.Comment;
+import com.miniproject.backend.model.Post;
+import com.miniproject.backend.model.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeded generators for benchmark populations.
+ * The same seed always yields the same users and posts, so runs are comparable.
+ */
+public final class SyntheticData {
+
+    static final String[] SKILLS = {
+        "Java", "Python", "JavaScript", "TypeScript", "React", "Angular", "Vue", "Node.js",
+        "Spring Boot", "Django", "Flask", "Go", "Rust", "C++", "C", "Kotlin", "Swift",
+        "SQL", "MongoDB", "PostgreSQL", "Redis", "Docker", "Kubernetes", "AWS", "GCP",
+        "Azure", "Linux", "Git", "TensorFlow", "PyTorch", "Pandas", "NumPy", "OpenCV",
+        "Figma", "UI/UX", "Android", "iOS", "Flutter", "GraphQL", "REST", "Kafka",
+        "Hadoop", "Spark", "Solidity", "Unity", "Blender", "MATLAB", "Verilog", "Arduino", "ROS"
+    };
+
+    static final String[] INTERESTS = {
+        "AI", "Machine Learning", "Web Development", "Open Source", "Competitive Programming",
+        "Cybersecurity", "Blockchain", "Game Development", "Robotics", "IoT", "Cloud Computing",
+        "Data Science", "Startups", "Research", "Design", "Mobile Development", "DevOps",
+        "Networking", "Embedded Systems", "AR/VR", "Quantum Computing", "FinTech", "EdTech",
+        "Music", "Photography", "Debating", "Entrepreneurship", "Sports", "Literature", "Art"
+    };
+
+    static final String[] POST_TAGS = {
+        "Project Collaboration", "Open Source", "Research Opportunity", "Internship", "Hackathon",
+        "Startup", "Event", "Placement", "Club", "Workshop", "Question", "Announcement",
+        "Lost and Found", "Achievement", "Resources", "Study Group"
+    };
+
+    static final String[] WORDS = {
+        "looking", "for", "team", "members", "build", "app", "campus", "students", "project",
+        "deadline", "meeting", "today", "weekend", "help", "need", "react", "backend", "frontend",
+        "model", "dataset", "contest", "join", "welcome", "interested", "apply", "soon", "idea",
+        "prototype", "mentor", "library", "hostel", "lab", "server", "design", "launch", "demo"
+    };
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Users with ids "u0".."u{n-1}", skills, interests and a follow list inside the population
+     */
+    public static List<User> users(int count, long seed) {
+        Random random = new Random(seed);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId("u" + i);
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@lnmiit.ac.in");
+            user.setBio(sentence(random, 12));
+            user.setEducation("LNMIIT");
+            user.setBranchYear(random.nextBoolean() ? "CSE 2026" : "ECE 2025");
+            user.setExperienceLevel(random.nextBoolean() ? "beginner" : "intermediate");
+            user.setSkills(pick(random, SKILLS, 3 + random.nextInt(6)));
+            user.setInterests(pick(random, INTERESTS, 2 + random.nextInt(4)));
+            user.setTechStack(pick(random, SKILLS, 2 + random.nextInt(3)));
+
+            int following = random.nextInt(Math.min(30, count));
+            Set<String> followed = new LinkedHashSet<>();
+            while (followed.size() < following) {
+                int target = random.nextInt(count);
+                if (target != i) {
+                    followed.add("u" + target);
+                }
+            }
+            user.setFollowingUsers(new ArrayList<>(followed));
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * Posts spread over the last ten days with tags, likes and comments
+     */
+    public static List<Post> posts(int count, int userCount, long seed) {
+        Random random = new Random(seed);
+        long now = System.currentTimeMillis();
+        long tenDays = 10L * 24 * 60 * 60 * 1000;
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Post post = new Post();
+            post.setId("p" + i);
+            int author = random.nextInt(userCount);
+            post.setAuthorId("u" + author);
+            post.setAuthorName("User " + author);
+            post.setTitle(sentence(random, 6));
+            post.setBody(sentence(random, 40));
+            post.setTags(pick(random, POST_TAGS, 1 + random.nextInt(3)));
+            post.setCreatedAt(now - (long) (random.nextDouble() * tenDays));
+
+            Set<String> likes = new HashSet<>();
+            int likeCount = random.nextInt(50);
+            for (int l = 0; l < likeCount; l++) {
+                likes.add("u" + random.nextInt(userCount));
+            }
+            post.setLikes(likes);
+
+            List<Comment> comments = new ArrayList<>();
+            int commentCount = random.nextInt(10);
+            for (int c = 0; c < commentCount; c++) {
+                int commenter = random.nextInt(userCount);
+                comments.add(new Comment("u" + commenter, "User " + commenter, sentence(random, 8), post.getCreatedAt()));
+            }
+            post.setComments(comments);
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    static List<String> pick(Random random, String[] vocabulary, int count) {
+        Set<String> picked = new LinkedHashSet<>();
+        while (picked.size() < Math.min(count, vocabulary.length)) {
+            picked.add(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return new ArrayList<>(picked);
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
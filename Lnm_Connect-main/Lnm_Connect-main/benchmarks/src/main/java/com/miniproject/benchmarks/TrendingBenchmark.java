@@ -0,0 +1,56 @@
+package com.miniproject.benchmarks;
+
+import com.miniproject.backend.controller.PostController;
+import com.miniproject.backend.model.Post;
+import com.miniproject.backend.repository.PostRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trending posts and trending topics aggregation over in-memory posts
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TrendingBenchmark {
+
+    @Param({"10000", "100000"})
+    public int posts;
+
+    private PostController controller;
+
+    @Setup
+    public void setup() {
+        List<Post> population = SyntheticData.posts(posts, 5000, 42);
+
+        controller = new PostController();
+        Stubs.inject(controller, "postRepository",
+            Stubs.repository(PostRepository.class, Map.of("findAll", args -> population)));
+    }
+
+    @Benchmark
+    public List<Post> trendingPosts() {
+        return controller.getTrendingPosts(10);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> trendingTopics() {
+        return controller.getTrendingTopics();
+    }
+}
@@ -1184,7 +1184,7 @@ function TagsModalContent({ currentUser, onClose }) {
 
   const markAsRead = async (tagIds) => {
     try {
-      await fetch('http://localhost:8080/api/tags/mark-read', {
+      await fetch(`http://localhost:8080/api/tags/user/${currentUser.id}/mark-read`, {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify({ tagIds })
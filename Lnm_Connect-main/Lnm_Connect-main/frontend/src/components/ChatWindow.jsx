@@ -7,14 +7,20 @@ const ChatWindow = ({
   currentUserId, 
   otherUser,
   onNewMessage,
+  onSendMessage,
   onSendTyping,
-  typingIndicator
+  typingIndicator,
+  receipt
 }) => {
   const [messages, setMessages] = useState([]);
   const [newMessage, setNewMessage] = useState('');
   const [loading, setLoading] = useState(true);
   const [sending, setSending] = useState(false);
+  const [beforeCursor, setBeforeCursor] = useState(null);
+  const [hasMoreBefore, setHasMoreBefore] = useState(false);
+  const [loadingOlder, setLoadingOlder] = useState(false);
   const messagesEndRef = useRef(null);
+  const prependingRef = useRef(false);
   const typingTimeoutRef = useRef(null);
 
   useEffect(() => {
@@ -25,6 +31,11 @@ const ChatWindow = ({
   }, [chatRoomId]);
 
   useEffect(() => {
+    // Keep the scroll position when older history is prepended
+    if (prependingRef.current) {
+      prependingRef.current = false;
+      return;
+    }
     scrollToBottom();
   }, [messages]);
 
@@ -52,11 +63,26 @@ const ChatWindow = ({
     }
   }, [chatRoomId, onNewMessage, currentUserId]);
 
+  // Apply a receipt watermark to every message up to it
+  useEffect(() => {
+    if (!receipt || receipt.chatRoomId !== chatRoomId) return;
+    const rank = { SENT: 0, DELIVERED: 1, READ: 2 };
+    const upTo = new Date(receipt.upToTimestamp).getTime();
+    setMessages(prev => prev.map(m => {
+      if (m.receiverId !== receipt.readerId || rank[m.status] >= rank[receipt.status]) return m;
+      const time = new Date(m.timestamp).getTime();
+      const covered = time < upTo || (time === upTo && m.id <= receipt.upToMessageId);
+      return covered ? { ...m, status: receipt.status } : m;
+    }));
+  }, [receipt, chatRoomId]);
+
   const loadMessages = async () => {
     try {
       setLoading(true);
-      const data = await chatService.getChatRoomMessages(chatRoomId, currentUserId);
-      setMessages(data);
+      const page = await chatService.getMessagesPage(chatRoomId, currentUserId);
+      setMessages(page.messages);
+      setBeforeCursor(page.beforeCursor);
+      setHasMoreBefore(page.hasMoreBefore);
     } catch (error) {
       console.error('Error loading messages:', error);
     } finally {
@@ -64,6 +90,25 @@ const ChatWindow = ({
     }
   };
 
+  const loadOlderMessages = async () => {
+    if (!hasMoreBefore || loadingOlder) return;
+    try {
+      setLoadingOlder(true);
+      const page = await chatService.getMessagesPage(chatRoomId, currentUserId, { before: beforeCursor });
+      prependingRef.current = true;
+      setMessages(prev => [
+        ...page.messages.filter(m => !prev.some(p => p.id === m.id)),
+        ...prev
+      ]);
+      setBeforeCursor(page.beforeCursor);
+      setHasMoreBefore(page.hasMoreBefore);
+    } catch (error) {
+      console.error('Error loading older messages:', error);
+    } finally {
+      setLoadingOlder(false);
+    }
+  };
+
   const markAsRead = async () => {
     try {
       await chatService.markAsRead(chatRoomId, currentUserId);
@@ -86,11 +131,16 @@ const ChatWindow = ({
     
     try {
       setSending(true);
-      const message = await chatService.sendMessage(
-        currentUserId,
-        otherUser.id,
-        messageContent
-      );
+      // Prefer the open socket; fall back to REST while it is connecting
+      if (onSendMessage) {
+        await onSendMessage(otherUser.id, messageContent);
+      } else {
+        await chatService.sendMessage(
+          currentUserId,
+          otherUser.id,
+          messageContent
+        );
+      }
       
       // Don't add message here - let WebSocket handle it to avoid duplicates
       // The message will be added via the onNewMessage callback
@@ -233,6 +283,17 @@ const ChatWindow = ({
           </div>
         ) : (
           <>
+            {hasMoreBefore && (
+              <div className="flex justify-center mb-2">
+                <button
+                  onClick={loadOlderMessages}
+                  disabled={loadingOlder}
+                  className="text-xs text-blue-600 hover:text-blue-800 disabled:text-gray-400"
+                >
+                  {loadingOlder ? 'Loading...' : 'Load earlier messages'}
+                </button>
+              </div>
+            )}
             {Object.entries(messageGroups).map(([date, msgs]) => (
               <div key={date}>
                 {/* Date Separator */}
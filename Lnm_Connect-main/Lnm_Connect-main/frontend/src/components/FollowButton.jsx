@@ -7,16 +7,22 @@ import { followService } from '../services/followService';
  * Dynamic Follow Button Component
  * Shows different states: Follow, Pending, Following, Accept/Reject
  */
-const FollowButton = ({ currentUserId, targetUserId, className = '', onStatusChange }) => {
-  const [status, setStatus] = useState(null);
-  const [loading, setLoading] = useState(true);
+const FollowButton = ({ currentUserId, targetUserId, className = '', onStatusChange, initialStatus }) => {
+  const [status, setStatus] = useState(initialStatus || null);
+  const [loading, setLoading] = useState(!initialStatus);
   const [actionLoading, setActionLoading] = useState(false);
 
   useEffect(() => {
+    // Lists pass a status prefetched with followService.getFollowStatuses
+    if (initialStatus) {
+      setStatus(initialStatus);
+      setLoading(false);
+      return;
+    }
     if (currentUserId && targetUserId && currentUserId !== targetUserId) {
       loadFollowStatus();
     }
-  }, [currentUserId, targetUserId]);
+  }, [currentUserId, targetUserId, initialStatus]);
 
   const loadFollowStatus = async () => {
     try {
@@ -138,19 +138,14 @@ export const NotificationProvider = ({ children }) => {
       return; // Don't add notifications for other users
     }
     
-    // Check if notification already exists to prevent duplicates
+    // Likes and upvotes arrive again as updates of the same rolling notification; replace it and move it to the top
     setNotifications(prev => {
-      const exists = prev.some(n => n.id === notification.id);
-      if (exists) {
-        console.log('⚠️ Notification already exists, skipping:', notification.id);
-        return prev;
+      const existing = prev.find(n => n.id === notification.id);
+      if (!notification.isRead && (!existing || existing.isRead)) {
+        setUnreadCount(count => count + 1);
       }
-      return [notification, ...prev];
+      return [notification, ...prev.filter(n => n.id !== notification.id)];
     });
-    
-    if (!notification.isRead) {
-      setUnreadCount(prev => prev + 1);
-    }
   }, [currentUserId]);
 
   /**
@@ -172,9 +167,11 @@ export const NotificationProvider = ({ children }) => {
 
         // Subscribe to user-specific notifications
         client.subscribe(`/user/queue/notifications`, (message) => {
-          const notification = JSON.parse(message.body);
-          console.log('New notification received:', notification);
-          addNotification(notification);
+          // Notifications arrive batched as an array frame; chat pushes are single objects
+          const payload = JSON.parse(message.body);
+          const received = Array.isArray(payload) ? payload : [payload];
+          console.log('New notifications received:', received.length);
+          received.forEach(addNotification);
           
           // Play notification sound (optional)
           const audio = new Audio('/notification.mp3');
@@ -10,6 +10,7 @@ export const useWebSocket = (userId) => {
   const [connected, setConnected] = useState(false);
   const [messages, setMessages] = useState([]);
   const subscriptionsRef = useRef(new Map());
+  const pendingAcksRef = useRef(new Map());
 
   useEffect(() => {
     if (!userId) return;
@@ -17,6 +18,8 @@ export const useWebSocket = (userId) => {
     // Create STOMP client
     const client = new Client({
       webSocketFactory: () => new SockJS(SOCKET_URL),
+      // Binds this session to the user, so messages sent over it are attributed to them
+      connectHeaders: { userId },
       reconnectDelay: 5000,
       heartbeatIncoming: 4000,
       heartbeatOutgoing: 4000,
@@ -29,9 +32,23 @@ export const useWebSocket = (userId) => {
         
         // Subscribe to user's personal notification queue
         client.subscribe(`/user/${userId}/queue/notifications`, (message) => {
-          const notification = JSON.parse(message.body);
-          console.log('Received notification:', notification);
-          setMessages((prev) => [...prev, notification]);
+          const payload = JSON.parse(message.body);
+          const received = Array.isArray(payload) ? payload : [payload];
+          setMessages((prev) => [...prev, ...received]);
+        });
+
+        // Acks for messages sent over this connection
+        client.subscribe('/user/queue/acks', (message) => {
+          const ack = JSON.parse(message.body);
+          const pending = pendingAcksRef.current.get(ack.clientMessageId);
+          if (!pending) return;
+          pendingAcksRef.current.delete(ack.clientMessageId);
+          clearTimeout(pending.timer);
+          if (ack.error) {
+            pending.reject(new Error(ack.error));
+          } else {
+            pending.resolve(ack);
+          }
         });
       },
       onDisconnect: () => {
@@ -96,6 +113,42 @@ export const useWebSocket = (userId) => {
     return () => subscription.unsubscribe();
   }, [stompClient, connected]);
 
+  // Subscribe to read/delivered receipts (one frame per status change, carrying a watermark)
+  const subscribeToReceipts = useCallback((chatRoomId, callback) => {
+    if (!stompClient || !connected) return;
+
+    const subscription = stompClient.subscribe(
+      `/topic/receipts/${chatRoomId}`,
+      (message) => {
+        const receipt = JSON.parse(message.body);
+        callback(receipt);
+      }
+    );
+
+    return () => subscription.unsubscribe();
+  }, [stompClient, connected]);
+
+  // Send a chat message over the socket; resolves with the server ack (assigned id and timestamp)
+  const sendChatMessage = useCallback((receiverId, content) => {
+    if (!stompClient || !connected) {
+      return Promise.reject(new Error('Not connected'));
+    }
+
+    const clientMessageId = `${userId}-${Date.now()}-${Math.random().toString(36).slice(2)}`;
+    return new Promise((resolve, reject) => {
+      const timer = setTimeout(() => {
+        pendingAcksRef.current.delete(clientMessageId);
+        reject(new Error('Message send timed out'));
+      }, 10000);
+      pendingAcksRef.current.set(clientMessageId, { resolve, reject, timer });
+
+      stompClient.publish({
+        destination: '/app/chat.sendMessage',
+        body: JSON.stringify({ receiverId, content, clientMessageId }),
+      });
+    });
+  }, [stompClient, connected, userId]);
+
   // Send typing indicator
   const sendTypingIndicator = useCallback((chatRoomId, userName, isTyping) => {
     if (!stompClient || !connected) return;
@@ -123,6 +176,8 @@ export const useWebSocket = (userId) => {
     connected,
     subscribeToChatRoom,
     subscribeToTyping,
+    subscribeToReceipts,
+    sendChatMessage,
     sendTypingIndicator,
     unsubscribeFromChatRoom,
     messages,
@@ -35,11 +35,14 @@ const ChatPage = () => {
   const location = useLocation();
   const [selectedChat, setSelectedChat] = useState(null);
   const [typingIndicator, setTypingIndicator] = useState(null);
+  const [receipt, setReceipt] = useState(null);
   
   const {
     connected,
     subscribeToChatRoom,
     subscribeToTyping,
+    subscribeToReceipts,
+    sendChatMessage,
     sendTypingIndicator,
     unsubscribeFromChatRoom,
   } = useWebSocket(currentUserId);
@@ -75,18 +78,17 @@ const ChatPage = () => {
         // Message will be handled by ChatWindow component
       });
 
-      // Subscribe to typing indicator
-      const unsubscribe = subscribeToTyping(selectedChat.chatRoomId, (indicator) => {
-        setTypingIndicator(indicator);
-        
-        // Clear typing indicator after 3 seconds
-        setTimeout(() => {
-          setTypingIndicator(null);
-        }, 3000);
-      });
+      // Subscribe to typing indicator. The server only sends start/stop transitions and sends the stop
+      // itself when a typist goes quiet, so the last frame stands until the next one
+      const unsubscribe = subscribeToTyping(selectedChat.chatRoomId, setTypingIndicator);
+
+      // Subscribe to read/delivered receipts
+      const unsubscribeReceipts = subscribeToReceipts(selectedChat.chatRoomId, setReceipt);
 
       return () => {
         if (unsubscribe) unsubscribe();
+        if (unsubscribeReceipts) unsubscribeReceipts();
+        setTypingIndicator(null);
       };
     }
   }, [selectedChat, connected]);
@@ -127,8 +129,10 @@ const ChatPage = () => {
             photoUrl: selectedChat.otherUserPhotoUrl
           } : null}
           onNewMessage={handleNewMessage}
+          onSendMessage={connected ? sendChatMessage : null}
           onSendTyping={handleSendTyping}
           typingIndicator={typingIndicator}
+          receipt={receipt}
         />
       </div>
 
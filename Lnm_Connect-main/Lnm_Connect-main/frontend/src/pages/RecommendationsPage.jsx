@@ -2,6 +2,8 @@ import { useState, useEffect } from 'react';
 import { motion, AnimatePresence } from 'framer-motion';
 import { useNavigate } from 'react-router-dom';
 import recommendationService from '../services/recommendationService';
+import { followService } from '../services/followService';
+import FollowButton from '../components/FollowButton';
 
 const RecommendationsPage = () => {
   const navigate = useNavigate();
@@ -12,6 +14,8 @@ const RecommendationsPage = () => {
   const [profileRecommendations, setProfileRecommendations] = useState([]);
   const [projectRecommendations, setProjectRecommendations] = useState([]);
   const [eventRecommendations, setEventRecommendations] = useState([]);
+  // Follow status of every recommended profile, fetched in one batch; null until loaded
+  const [followStatuses, setFollowStatuses] = useState(null);
   
   const currentUser = JSON.parse(localStorage.getItem('user') || '{}');
   const userId = currentUser.id || currentUser._id;
@@ -34,6 +38,7 @@ const RecommendationsPage = () => {
       setProfileRecommendations(profiles);
       setProjectRecommendations(projects);
       setEventRecommendations(events);
+      loadFollowStatuses(profiles);
     } catch (error) {
       console.error('Error loading recommendations:', error);
     } finally {
@@ -41,6 +46,16 @@ const RecommendationsPage = () => {
     }
   };
 
+  const loadFollowStatuses = async (profiles) => {
+    setFollowStatuses(null);
+    try {
+      setFollowStatuses(await followService.getFollowStatuses(userId, profiles.map((p) => p.userId)));
+    } catch (error) {
+      console.error('Error loading follow statuses:', error);
+      setFollowStatuses({});
+    }
+  };
+
   const handleRefresh = async () => {
     setRefreshing(true);
     try {
@@ -128,9 +143,16 @@ const RecommendationsPage = () => {
             </div>
           )}
           
-          <button className="mt-3 bg-blue-600 text-white px-4 py-2 rounded-lg hover:bg-blue-700 transition-colors text-sm font-medium">
-            Connect
-          </button>
+          {followStatuses && (
+            <div className="mt-3" onClick={(e) => e.stopPropagation()}>
+              <FollowButton
+                currentUserId={userId}
+                targetUserId={profile.userId}
+                initialStatus={followStatuses[profile.userId]}
+                className="text-sm"
+              />
+            </div>
+          )}
         </div>
       </div>
     </motion.div>
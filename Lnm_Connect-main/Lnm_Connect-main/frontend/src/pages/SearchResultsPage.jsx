@@ -3,6 +3,8 @@ import { useSearchParams, Link, useNavigate } from 'react-router-dom';
 import { motion, AnimatePresence } from 'framer-motion';
 import { Search, User, FileText, Briefcase, Loader2, AlertCircle, MessageCircle } from 'lucide-react';
 import MessageButton from '../components/MessageButton';
+import FollowButton from '../components/FollowButton';
+import { followService } from '../services/followService';
 
 const SearchResultsPage = () => {
   const [searchParams] = useSearchParams();
@@ -12,6 +14,8 @@ const SearchResultsPage = () => {
   const [isLoading, setIsLoading] = useState(true);
   const [activeTab, setActiveTab] = useState('all');
   const [error, setError] = useState(null);
+  // Follow status of every profile in the results, fetched in one batch; null until loaded
+  const [followStatuses, setFollowStatuses] = useState(null);
 
   // Get current user from localStorage
   const getCurrentUser = () => {
@@ -36,6 +40,7 @@ const SearchResultsPage = () => {
       if (!response.ok) throw new Error('Search failed');
       const data = await response.json();
       setResults(data);
+      loadFollowStatuses(data.profiles || []);
     } catch (err) {
       setError('Failed to fetch search results. Please try again.');
       console.error('Search error:', err);
@@ -44,6 +49,20 @@ const SearchResultsPage = () => {
     }
   };
 
+  const loadFollowStatuses = async (profiles) => {
+    setFollowStatuses(null);
+    if (!currentUser?.id || profiles.length === 0) {
+      setFollowStatuses({});
+      return;
+    }
+    try {
+      setFollowStatuses(await followService.getFollowStatuses(currentUser.id, profiles.map((p) => p.id)));
+    } catch (err) {
+      console.error('Error loading follow statuses:', err);
+      setFollowStatuses({});
+    }
+  };
+
   const tabs = [
     { id: 'all', label: 'All', icon: Search },
     { id: 'profiles', label: 'Profiles', icon: User },
@@ -89,7 +108,7 @@ const SearchResultsPage = () => {
   const renderResultCard = (result) => {
     switch (result.type) {
       case 'profile':
-        return <ProfileCard key={result.id} result={result} />;
+        return <ProfileCard key={result.id} result={result} followStatuses={followStatuses} />;
       case 'post':
         return <PostCard key={result.id} result={result} />;
       case 'project':
@@ -207,7 +226,7 @@ const SearchResultsPage = () => {
 };
 
 // Profile Card Component
-const ProfileCard = ({ result }) => {
+const ProfileCard = ({ result, followStatuses }) => {
   const getCurrentUser = () => {
     const user = localStorage.getItem('user');
     return user ? JSON.parse(user) : null;
@@ -261,6 +280,14 @@ const ProfileCard = ({ result }) => {
           >
             View Profile
           </Link>
+          {currentUser && currentUser.id !== result.id && followStatuses && (
+            <FollowButton
+              currentUserId={currentUser.id}
+              targetUserId={result.id}
+              initialStatus={followStatuses[result.id]}
+              className="text-sm"
+            />
+          )}
           {currentUser && currentUser.id !== result.id && (
             <MessageButton 
               targetUserId={result.id}
@@ -9,6 +9,8 @@ import {
 } from 'lucide-react';
 import { spaceService } from '../services/spaceService';
 import { threadService } from '../services/threadService';
+import { followService } from '../services/followService';
+import FollowButton from '../components/FollowButton';
 
 /**
  * Space Detail Page - View a specific discussion space
@@ -637,6 +639,8 @@ const ManageSpaceModal = ({ space, onClose, onSuccess }) => {
   const [newModeratorId, setNewModeratorId] = useState('');
   const [members, setMembers] = useState([]);
   const [loadingMembers, setLoadingMembers] = useState(false);
+  // Follow status of every member, fetched in one batch; null until loaded
+  const [memberFollowStatuses, setMemberFollowStatuses] = useState(null);
   
   const currentUser = JSON.parse(localStorage.getItem('user') || '{}');
   const currentUserId = currentUser.id || currentUser._id;
@@ -671,6 +675,7 @@ const ManageSpaceModal = ({ space, onClose, onSuccess }) => {
       const spaceMembers = await response.json();
       console.log('Space members from API:', spaceMembers.length, spaceMembers);
       setMembers(spaceMembers);
+      loadMemberFollowStatuses(spaceMembers);
       
       if (spaceMembers.length === 0) {
         console.warn('No members returned from API for space:', space.id);
@@ -684,6 +689,17 @@ const ManageSpaceModal = ({ space, onClose, onSuccess }) => {
     }
   };
   
+  const loadMemberFollowStatuses = async (spaceMembers) => {
+    setMemberFollowStatuses(null);
+    try {
+      const ids = spaceMembers.map((member) => member.id || member._id);
+      setMemberFollowStatuses(await followService.getFollowStatuses(currentUserId, ids));
+    } catch (error) {
+      console.error('Error loading member follow statuses:', error);
+      setMemberFollowStatuses({});
+    }
+  };
+  
   const handleDeleteSpace = async () => {
     if (!window.confirm('⚠️ Are you sure you want to delete this space? This will permanently delete all threads, comments, and data. This action CANNOT be undone!')) return;
     if (!window.confirm('This is your final warning. All content will be lost forever. Are you absolutely sure?')) return;
@@ -1088,6 +1104,14 @@ const ManageSpaceModal = ({ space, onClose, onSuccess }) => {
                                   </div>
                                   <p className="text-xs text-gray-500 truncate">{member.email || 'N/A'}</p>
                                 </div>
+                                {!isCurrentUser && memberFollowStatuses && (
+                                  <FollowButton
+                                    currentUserId={currentUserId}
+                                    targetUserId={memberId}
+                                    initialStatus={memberFollowStatuses[memberId]}
+                                    className="text-xs"
+                                  />
+                                )}
                               </div>
                               
                               {/* User ID - Click to Copy */}
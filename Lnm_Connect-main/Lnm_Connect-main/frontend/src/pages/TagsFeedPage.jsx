@@ -40,7 +40,7 @@ const TagsFeedPage = () => {
 
   const markAsRead = async (tagIds) => {
     try {
-      await fetch('http://localhost:8080/api/tags/mark-read', {
+      await fetch(`http://localhost:8080/api/tags/user/${currentUserId}/mark-read`, {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify({ tagIds })
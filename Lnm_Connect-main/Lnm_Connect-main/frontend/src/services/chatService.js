@@ -43,6 +43,32 @@ export const chatService = {
     }
   },
 
+  // Get a page of chat history: latest by default, or older/newer than a cursor
+  getMessagesPage: async (chatRoomId, userId, { before, after, limit = 50 } = {}) => {
+    try {
+      const response = await axios.get(`${API_BASE_URL}/chats/${chatRoomId}/messages`, {
+        params: { userId, before, after, limit }
+      });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching messages page:', error);
+      throw error;
+    }
+  },
+
+  // Search the user's conversations; pass nextCursor back as cursor for the next page
+  searchMessages: async (userId, q, { cursor, limit = 20 } = {}) => {
+    try {
+      const response = await axios.get(`${API_BASE_URL}/chats/search`, {
+        params: { userId, q, cursor, limit }
+      });
+      return response.data;
+    } catch (error) {
+      console.error('Error searching messages:', error);
+      throw error;
+    }
+  },
+
   // Send a message
   sendMessage: async (senderId, receiverId, content, attachmentUrl = null) => {
     try {
@@ -54,6 +54,22 @@ export const followService = {
     return response.data;
   },
 
+  /**
+   * Get follow status for many users, 100 per request (the server's batch limit)
+   * Returns { [targetUserId]: status }; the current user and duplicates are skipped
+   */
+  async getFollowStatuses(currentUserId, targetUserIds) {
+    const ids = [...new Set(targetUserIds)].filter((id) => id && id !== currentUserId);
+    const chunks = [];
+    for (let i = 0; i < ids.length; i += 100) {
+      chunks.push(ids.slice(i, i + 100));
+    }
+    const responses = await Promise.all(chunks.map((chunk) =>
+      axios.post(`${API_BASE_URL}/status/batch?userId=${currentUserId}`, chunk)
+    ));
+    return Object.assign({}, ...responses.map((response) => response.data));
+  },
+
   /**
    * Get pending connection requests
    */
@@ -78,6 +94,24 @@ export const followService = {
     return response.data;
   },
 
+  /**
+   * Get one page of followers / following, newest first.
+   * Pass the returned nextCursor back to load the next page.
+   */
+  async getFollowersPage(userId, { cursor, limit = 20, withMutuals = false } = {}) {
+    const response = await axios.get(`${API_BASE_URL}/followers/${userId}/page`, {
+      params: { cursor, limit, withMutuals }
+    });
+    return response.data;
+  },
+
+  async getFollowingPage(userId, { cursor, limit = 20, withMutuals = false } = {}) {
+    const response = await axios.get(`${API_BASE_URL}/following/${userId}/page`, {
+      params: { cursor, limit, withMutuals }
+    });
+    return response.data;
+  },
+
   /**
    * Get mutual connections list
    */
@@ -72,6 +72,36 @@ export const deleteNotification = async (notificationId, userId) => {
   }
 };
 
+/**
+ * Delete several notifications in one request; resolves to the number deleted
+ */
+export const deleteNotifications = async (notificationIds, userId) => {
+  try {
+    const response = await axios.post(`${API_URL}/delete`, { ids: notificationIds }, {
+      params: { userId }
+    });
+    return response.data.deleted;
+  } catch (error) {
+    console.error('Error deleting notifications:', error);
+    throw error;
+  }
+};
+
+/**
+ * Delete all of a user's notifications; resolves to the number deleted
+ */
+export const deleteAllNotifications = async (userId) => {
+  try {
+    const response = await axios.delete(`${API_URL}`, {
+      params: { userId }
+    });
+    return response.data.deleted;
+  } catch (error) {
+    console.error('Error deleting all notifications:', error);
+    throw error;
+  }
+};
+
 /**
  * Create a test notification (for debugging)
  */
@@ -46,10 +46,10 @@ export const tagService = {
   },
 
   /**
-   * Mark tags as read
+   * Mark a user's tags as read
    */
-  markAsRead: async (tagIds) => {
-    const response = await axios.post(`${API_BASE_URL}/tags/mark-read`, {
+  markAsRead: async (userId, tagIds) => {
+    const response = await axios.post(`${API_BASE_URL}/tags/user/${userId}/mark-read`, {
       tagIds
     });
     return response.data;